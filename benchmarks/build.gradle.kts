@@ -0,0 +1,26 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+description = "Benchmarks for moonshine; these are not published"
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+dependencies {
+    jmh(project(":moonshine-core"))
+    jmh(project(":moonshine-internal"))
+    jmh(project(":moonshine-standard"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+}
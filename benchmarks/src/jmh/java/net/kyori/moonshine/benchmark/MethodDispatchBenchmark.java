@@ -0,0 +1,125 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.benchmark;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import net.kyori.moonshine.internal.ClassFileWriter;
+import net.kyori.moonshine.internal.MethodTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares resolving the methods a {@link java.lang.reflect.Proxy} is invoked with to their scanned counterparts, using
+ * a {@link HashMap} keyed by {@link Method} against a {@link MethodTable}.
+ * <p>
+ * Each invocation looks up every method of the interface once, in a shuffled order.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class MethodDispatchBenchmark {
+  private static final Map<Integer, Class<?>> INTERFACES = new ConcurrentHashMap<>();
+
+  @Param({"10", "100", "1000"})
+  private int methodCount;
+
+  private Map<Method, Integer> hashMap;
+  private MethodTable methodTable;
+  private Method[] lookups;
+
+  @Setup
+  public void setup() {
+    final Class<?> type = INTERFACES.computeIfAbsent(this.methodCount, MethodDispatchBenchmark::defineInterface);
+
+    // The scanned methods and the methods a proxy invokes with are distinct, but equal, instances.
+    final Method[] scanned = sorted(type.getMethods());
+    this.hashMap = new HashMap<>(scanned.length);
+    for (int ordinal = 0; ordinal < scanned.length; ++ordinal) {
+      this.hashMap.put(scanned[ordinal], ordinal);
+    }
+    this.methodTable = new MethodTable(scanned);
+
+    final List<Method> lookups = Arrays.asList(sorted(type.getMethods()));
+    Collections.shuffle(lookups, new Random(this.methodCount));
+    this.lookups = lookups.toArray(new Method[0]);
+    for (final Method method : this.lookups) {
+      // Let the table learn the instances, as it would on the first invocation of each method.
+      this.methodTable.ordinal(method);
+    }
+  }
+
+  @Benchmark
+  public void hashMap(final Blackhole blackhole) {
+    for (final Method method : this.lookups) {
+      blackhole.consume(this.hashMap.get(method));
+    }
+  }
+
+  @Benchmark
+  public void methodTable(final Blackhole blackhole) {
+    for (final Method method : this.lookups) {
+      blackhole.consume(this.methodTable.ordinal(method));
+    }
+  }
+
+  private static Method[] sorted(final Method[] methods) {
+    Arrays.sort(methods, Comparator.comparing(Method::getName));
+    return methods;
+  }
+
+  private static Class<?> defineInterface(final int methodCount) {
+    final ClassFileWriter writer = new ClassFileWriter(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_INTERFACE | ClassFileWriter.ACC_ABSTRACT,
+        ClassFileWriter.internalName(MethodDispatchBenchmark.class) + "$Generated" + methodCount,
+        ClassFileWriter.internalName(Object.class));
+    for (int idx = 0; idx < methodCount; ++idx) {
+      writer.abstractMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_ABSTRACT, "message" + idx,
+          "(Ljava/lang/String;)V");
+    }
+
+    try {
+      return MethodHandles.lookup().defineClass(writer.toByteArray());
+    } catch (final IllegalAccessException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.benchmark;
+
+import io.leangen.geantyref.TypeToken;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.TimeUnit;
+import net.kyori.moonshine.Moonshine;
+import net.kyori.moonshine.ProxyBackend;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.annotation.Placeholder;
+import net.kyori.moonshine.exception.scan.UnscannableMethodException;
+import net.kyori.moonshine.placeholder.IPlaceholderResolver;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares invoking a message method through each {@link ProxyBackend}.
+ * <p>
+ * Sourcing, rendering and sending are all trivial, such that the cost of dispatching the invocation to its plan makes
+ * up as much of each invocation as it can.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ProxyBackendBenchmark {
+  @Param({"JAVA_PROXY", "GENERATED"})
+  private ProxyBackend proxyBackend;
+
+  private Messages messages;
+
+  @Setup
+  public void setup() throws UnscannableMethodException {
+    this.messages = Moonshine.<Messages, StringBuilder>builder(TypeToken.get(Messages.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> (StringBuilder) parameters[0], 1)
+        .sourced((receiver, messageKey) -> messageKey)
+        .<String, Object>rendered((receiver, intermediateMessage, resolvedPlaceholders, method, owner) ->
+            intermediateMessage)
+        .sent((receiver, renderedMessage) -> receiver.setLength(0))
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)))
+        .weightedPlaceholderResolver(String.class, IPlaceholderResolver.identityPlaceholderResolver(), 1)
+        .proxyBackend(this.proxyBackend)
+        // The benchmarks may not share a module with Moonshine, so let the generated class be defined here.
+        .proxyLookup(MethodHandles.lookup())
+        .create(ProxyBackendBenchmark.class.getClassLoader());
+  }
+
+  @Benchmark
+  public StringBuilder send() {
+    final StringBuilder receiver = new StringBuilder();
+    this.messages.send(receiver);
+    return receiver;
+  }
+
+  @Benchmark
+  public StringBuilder sendWithPlaceholder() {
+    final StringBuilder receiver = new StringBuilder();
+    this.messages.sendWithPlaceholder(receiver, "value");
+    return receiver;
+  }
+
+  public interface Messages {
+    @Message("send")
+    void send(StringBuilder receiver);
+
+    @Message("send.placeholder")
+    void sendWithPlaceholder(StringBuilder receiver, @Placeholder("value") String value);
+  }
+}
@@ -16,6 +16,7 @@ dependencies {
         sequenceOf(
             "core",
             "standard",
+            "processor",
         ).forEach {
             api(project(":moonshine-$it"))
         }
@@ -0,0 +1,244 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static net.kyori.moonshine.internal.ClassFileWriter.internalName;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.internal.ClassFileWriter;
+import net.kyori.moonshine.internal.ThrowableUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A factory of generated {@link MoonshineProxy} implementations, spun as hidden classes in the package of the class of
+ * the lookup they are defined with.
+ */
+@ThreadSafe
+/* package-private */ final class GeneratedProxyFactory {
+  private static final String PROXY_SUPERCLASS = internalName(MoonshineProxy.class);
+  private static final String DISPATCH_DESCRIPTOR = MethodType.methodType(Object.class, int.class, Object[].class)
+      .toMethodDescriptorString();
+  private static final String MOONSHINE_DESCRIPTOR = MethodType.methodType(Moonshine.class, MoonshineProxy.class)
+      .toMethodDescriptorString();
+  private static final MethodType CONSTRUCTOR_TYPE =
+      MethodType.methodType(void.class, Moonshine.class, Method[].class);
+
+  /**
+   * The generated implementations of each proxied type, by the lookup class they were defined with. These are held by
+   * the lookup classes themselves, whose class loaders can see the proxied types, and as such never outlive the class
+   * loaders they were defined in.
+   */
+  private static final ClassValue<Map<Class<?>, GeneratedClass>> GENERATED_CLASSES = new ClassValue<>() {
+    @Override
+    protected Map<Class<?>, GeneratedClass> computeValue(final Class<?> lookupClass) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private GeneratedProxyFactory() {
+  }
+
+  /**
+   * Create a new instance of the generated implementation of the given type.
+   *
+   * @param type      the interface to implement
+   * @param moonshine the meta instance to drive the implementation
+   * @param lookup    the lookup to define the implementation with, or {@code null} to define it in the package of
+   *                  {@code type} if Moonshine may
+   * @return the new implementation, or {@code null} if no implementation can be generated for {@code type}
+   */
+  /* package-private */ static @Nullable Object create(final Class<?> type, final Moonshine<?, ?, ?, ?> moonshine,
+      final MethodHandles.@Nullable Lookup lookup) {
+    final MethodHandles.Lookup definingLookup;
+    if (lookup != null) {
+      definingLookup = lookup;
+    } else {
+      try {
+        definingLookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+      } catch (final IllegalAccessException ex) {
+        return null;
+      }
+    }
+    if (!definingLookup.hasFullPrivilegeAccess()) {
+      // The proxied type is in another module than Moonshine, in which we may not define classes.
+      return null;
+    }
+
+    final GeneratedClass generated = GENERATED_CLASSES.get(definingLookup.lookupClass())
+        .computeIfAbsent(type, ignored -> generate(type, definingLookup));
+    if (generated.constructor() == null) {
+      return null;
+    }
+
+    try {
+      return (MoonshineProxy) generated.constructor().invokeExact(moonshine, generated.methods());
+    } catch (final Throwable throwable) {
+      ThrowableUtils.sneakyThrow(throwable);
+      throw new RuntimeException(throwable);
+    }
+  }
+
+  private static GeneratedClass generate(final Class<?> type, final MethodHandles.Lookup lookup) {
+    try {
+      return generateClass(type, lookup);
+    } catch (final IllegalAccessException | LinkageError ex) {
+      // Either the lookup class cannot access the proxied type, or its class loader cannot load the classes the
+      // generated class links against, e.g. as it does not delegate to the class loader of Moonshine.
+      return new GeneratedClass(null, new Method[0]);
+    }
+  }
+
+  private static GeneratedClass generateClass(final Class<?> type, final MethodHandles.Lookup lookup)
+      throws IllegalAccessException {
+    final ClassFileWriter writer = new ClassFileWriter(
+        ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER
+            | ClassFileWriter.ACC_SYNTHETIC,
+        className(lookup.lookupClass(), type),
+        PROXY_SUPERCLASS,
+        internalName(type));
+    final ClassFileWriter.Code constructorCode =
+        writer.method(ClassFileWriter.ACC_PUBLIC, "<init>", CONSTRUCTOR_TYPE.toMethodDescriptorString());
+    constructorCode.load(Object.class, 0);
+    constructorCode.load(Moonshine.class, 1);
+    constructorCode.load(Method[].class, 2);
+    constructorCode.invokeSpecial(PROXY_SUPERCLASS, "<init>", CONSTRUCTOR_TYPE.toMethodDescriptorString())
+        .returnValue(void.class)
+        .end();
+
+    final List<Method> dispatchedMethods = new ArrayList<>();
+    final Set<String> signatures = new HashSet<>();
+    for (final Method method : type.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers()) || method.isDefault() || isObjectMethod(method)) {
+        // Static methods are not implemented, default methods are inherited, and the base class takes care of Object.
+        continue;
+      }
+
+      final String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+          .toMethodDescriptorString();
+      if (!signatures.add(method.getName() + descriptor)) {
+        // The same signature may be inherited from multiple interfaces, but can only be implemented once.
+        continue;
+      }
+
+      final ClassFileWriter.Code code = writer.method(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL,
+          method.getName(), descriptor);
+      if (method.getReturnType() == Moonshine.class) {
+        code.load(Object.class, 0);
+        code.invokeStatic(PROXY_SUPERCLASS, "moonshine", MOONSHINE_DESCRIPTOR)
+            .returnValue(Moonshine.class)
+            .end();
+        continue;
+      }
+
+      code.load(Object.class, 0);
+      code.pushInt(dispatchedMethods.size());
+      dispatchedMethods.add(method);
+      writeArgumentArray(code, method.getParameterTypes());
+      code.invokeVirtual(PROXY_SUPERCLASS, "dispatch", DISPATCH_DESCRIPTOR);
+      writeReturn(code, method.getReturnType());
+      code.end();
+    }
+
+    final MethodHandles.Lookup hiddenLookup = lookup.defineHiddenClass(writer.toByteArray(), true);
+    final MethodHandle constructor;
+    try {
+      constructor = hiddenLookup.findConstructor(hiddenLookup.lookupClass(), CONSTRUCTOR_TYPE)
+          .asType(CONSTRUCTOR_TYPE.changeReturnType(MoonshineProxy.class));
+    } catch (final NoSuchMethodException ex) {
+      // The class loader of the type has its own copy of Moonshine, which the generated class linked against instead.
+      return new GeneratedClass(null, new Method[0]);
+    }
+    return new GeneratedClass(constructor, dispatchedMethods.toArray(new Method[0]));
+  }
+
+  private static void writeArgumentArray(final ClassFileWriter.Code code, final Class<?>[] parameterTypes) {
+    if (parameterTypes.length == 0) {
+      // The proxy substitutes the empty array, saving us the allocation.
+      code.pushNull();
+      return;
+    }
+
+    code.pushInt(parameterTypes.length).newObjectArray(internalName(Object.class));
+    int slot = 1;
+    for (int idx = 0; idx < parameterTypes.length; ++idx) {
+      final Class<?> parameterType = parameterTypes[idx];
+      code.dup().pushInt(idx);
+      slot += code.load(parameterType, slot);
+      if (parameterType.isPrimitive()) {
+        code.box(parameterType);
+      }
+      code.storeObjectInArray();
+    }
+  }
+
+  private static void writeReturn(final ClassFileWriter.Code code, final Class<?> returnType) {
+    if (returnType == void.class) {
+      code.pop();
+    } else if (returnType.isPrimitive()) {
+      code.unbox(returnType);
+    } else if (returnType != Object.class) {
+      code.checkCast(internalName(returnType));
+    }
+    code.returnValue(returnType);
+  }
+
+  /**
+   * Name the implementation of a type, which has to be in the package of the class it is defined with.
+   *
+   * @param lookupClass the class the implementation is defined with
+   * @param type        the implemented type
+   * @return the internal name of the implementation
+   */
+  private static String className(final Class<?> lookupClass, final Class<?> type) {
+    final String packageName = lookupClass.getPackageName();
+    final String typeName = type.getName();
+    final String simpleName = typeName.substring(typeName.lastIndexOf('.') + 1);
+    return packageName.isEmpty()
+        ? simpleName + "$MoonshineProxy"
+        : packageName.replace('.', '/') + '/' + simpleName + "$MoonshineProxy";
+  }
+
+  private static boolean isObjectMethod(final Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (final NoSuchMethodException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * A generated class.
+   *
+   * @param constructor the constructor of the class, or {@code null} if it could not be generated
+   * @param methods     the methods dispatched by the class, by their dispatch index
+   */
+  private record GeneratedClass(@Nullable MethodHandle constructor, Method[] methods) {
+  }
+}
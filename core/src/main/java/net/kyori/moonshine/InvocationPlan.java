@@ -0,0 +1,317 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.exception.scan.UnscannableMethodException;
+import net.kyori.moonshine.internal.ReflectiveUtils;
+import net.kyori.moonshine.message.IMessageRenderer;
+import net.kyori.moonshine.message.IMessageSender;
+import net.kyori.moonshine.message.IMessageSource;
+import net.kyori.moonshine.model.MoonshineMethod;
+import net.kyori.moonshine.model.ReturnMode;
+import net.kyori.moonshine.receiver.IReceiverLocator;
+import net.kyori.moonshine.strategy.IPlaceholderResolverStrategy;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A precomputed plan for invoking a single method of a proxied type, built once when its {@link Moonshine} is created.
+ * Which kind of method it is, and everything needed to invoke it, is determined up front; invoking the method only
+ * executes the plan.
+ */
+@ThreadSafe
+/* package-private */ abstract class InvocationPlan {
+  /**
+   * Invoke the method this plan was built for.
+   *
+   * @param proxy     the proxy the method was invoked on
+   * @param arguments the arguments passed to the method; never {@code null}
+   * @return the return value of the method
+   * @throws Throwable if the method throws
+   */
+  /* package-private */ abstract @Nullable Object invoke(final Object proxy, final @Nullable Object[] arguments)
+      throws Throwable;
+
+  /**
+   * Get the scanned method this plan invokes, scanning it first if it is yet to be.
+   *
+   * @return the scanned method, or {@code null} if this plan does not invoke a scanned method
+   * @throws UnscannableMethodException if the method is yet to be scanned, and cannot be
+   */
+  /* package-private */ @Nullable MoonshineMethod<?> moonshineMethod() throws UnscannableMethodException {
+    return null;
+  }
+
+  /**
+   * A plan for {@link Object#equals(Object)}.
+   */
+  /* package-private */ static final class EqualsPlan extends InvocationPlan {
+    private final Moonshine<?, ?, ?, ?> moonshine;
+
+    /* package-private */ EqualsPlan(final Moonshine<?, ?, ?, ?> moonshine) {
+      this.moonshine = moonshine;
+    }
+
+    @Override
+    /* package-private */ Object invoke(final Object proxy, final @Nullable Object[] arguments) {
+      return arguments.length == 1 && (arguments[0] == proxy || arguments[0] == this.moonshine);
+    }
+  }
+
+  /**
+   * A plan for {@link Object#hashCode()}.
+   */
+  /* package-private */ static final class HashCodePlan extends InvocationPlan {
+    private final Moonshine<?, ?, ?, ?> moonshine;
+
+    /* package-private */ HashCodePlan(final Moonshine<?, ?, ?, ?> moonshine) {
+      this.moonshine = moonshine;
+    }
+
+    @Override
+    /* package-private */ Object invoke(final Object proxy, final @Nullable Object[] arguments) {
+      return this.moonshine.hashCode();
+    }
+  }
+
+  /**
+   * A plan for {@link Object#toString()}.
+   */
+  /* package-private */ static final class ToStringPlan extends InvocationPlan {
+    private final Moonshine<?, ?, ?, ?> moonshine;
+
+    /* package-private */ ToStringPlan(final Moonshine<?, ?, ?, ?> moonshine) {
+      this.moonshine = moonshine;
+    }
+
+    @Override
+    /* package-private */ Object invoke(final Object proxy, final @Nullable Object[] arguments) {
+      return MoonshineInvocationHandler.proxiedToString(this.moonshine);
+    }
+  }
+
+  /**
+   * A plan for methods returning the {@link Moonshine} instance itself.
+   */
+  /* package-private */ static final class MoonshineAccessorPlan extends InvocationPlan {
+    private final Moonshine<?, ?, ?, ?> moonshine;
+
+    /* package-private */ MoonshineAccessorPlan(final Moonshine<?, ?, ?, ?> moonshine) {
+      this.moonshine = moonshine;
+    }
+
+    @Override
+    /* package-private */ Object invoke(final Object proxy, final @Nullable Object[] arguments) {
+      return this.moonshine;
+    }
+  }
+
+  /**
+   * A plan for {@code default} methods, which invokes their own implementation.
+   * <p>
+   * The handle to the implementation is found on the first invocation, then kept unbound for every later invocation on
+   * any proxy of this plan's {@link Moonshine}.
+   * </p>
+   */
+  /* package-private */ static final class DefaultMethodPlan extends InvocationPlan {
+    private final Method method;
+    private volatile @Nullable MethodHandle handle;
+
+    /* package-private */ DefaultMethodPlan(final Method method) {
+      this.method = method;
+    }
+
+    @Override
+    /* package-private */ @Nullable Object invoke(final Object proxy, final @Nullable Object[] arguments)
+        throws Throwable {
+      @Nullable MethodHandle handle = this.handle;
+      if (handle == null) {
+        // Racing threads find equivalent handles; whichever is stored last is as good as any other.
+        handle = ReflectiveUtils.findDefaultMethod(this.method);
+        this.handle = handle;
+      }
+
+      return (Object) handle.invokeExact(proxy, arguments);
+    }
+  }
+
+  /**
+   * A plan for scanned methods, which locates the receiver, sources the message, resolves its placeholders and renders
+   * it, then sends or returns it according to the method's {@link ReturnMode}.
+   * <p>
+   * For {@link ReturnMode#isAsynchronous() asynchronous} methods, the receiver is located and the message sourced on
+   * the invoking thread; everything after is done once the placeholders are resolved.
+   * </p>
+   *
+   * @param <R> the receiver type
+   * @param <I> the intermediate message type
+   * @param <O> the output/rendered message type
+   * @param <F> the finalised placeholder type, post-resolving
+   */
+  /* package-private */ static final class MessagePlan<R, I, O, F> extends InvocationPlan {
+    private final Moonshine<R, I, O, F> moonshine;
+    private final MoonshineMethod<? extends R> moonshineMethod;
+    private final Method method;
+    private final Type owner;
+    private final String messageKey;
+    private final IReceiverLocator<? extends R> receiverLocator;
+    private final IMessageSource<R, I> messageSource;
+    private final IPlaceholderResolverStrategy<R, I, F> placeholderResolverStrategy;
+    private final IMessageRenderer<R, I, O, F> messageRenderer;
+    private final IMessageSender<R, O> messageSender;
+    private final boolean sends;
+    private final boolean asynchronous;
+
+    /* package-private */ MessagePlan(final Moonshine<R, I, O, F> moonshine,
+        final MoonshineMethod<? extends R> moonshineMethod) {
+      this.moonshine = moonshine;
+      this.moonshineMethod = moonshineMethod;
+      this.method = moonshineMethod.reflectMethod();
+      this.owner = moonshine.proxiedType();
+      this.messageKey = moonshineMethod.messageKey();
+      this.receiverLocator = moonshineMethod.receiverLocator();
+      this.messageSource = moonshine.messageSource();
+      this.placeholderResolverStrategy = moonshine.placeholderResolverStrategy();
+      this.messageRenderer = moonshine.messageRenderer();
+      this.messageSender = moonshine.messageSender();
+      this.sends = moonshineMethod.returnMode() == ReturnMode.SEND
+          || moonshineMethod.returnMode() == ReturnMode.SEND_ASYNC;
+      this.asynchronous = moonshineMethod.returnMode().isAsynchronous();
+    }
+
+    @Override
+    /* package-private */ MoonshineMethod<? extends R> moonshineMethod() {
+      return this.moonshineMethod;
+    }
+
+    @Override
+    /* package-private */ @Nullable Object invoke(final Object proxy, final @Nullable Object[] arguments)
+        throws Exception {
+      final R receiver = this.receiverLocator.locate(this.method, proxy, arguments);
+      final I intermediateMessage = this.messageSource.messageOf(receiver, this.messageKey);
+      if (this.asynchronous) {
+        return this.invokeAsync(receiver, intermediateMessage, arguments);
+      }
+
+      final var resolvedPlaceholders = this.placeholderResolverStrategy.resolvePlaceholders(
+          this.moonshine,
+          receiver,
+          intermediateMessage,
+          this.moonshineMethod,
+          arguments
+      );
+      final O renderedMessage = this.messageRenderer.render(
+          receiver,
+          intermediateMessage,
+          resolvedPlaceholders,
+          this.method,
+          this.owner
+      );
+
+      if (this.sends) {
+        this.messageSender.send(receiver, renderedMessage);
+        return null;
+      } else {
+        return renderedMessage;
+      }
+    }
+
+    private CompletableFuture<?> invokeAsync(final R receiver, final I intermediateMessage,
+        final @Nullable Object[] arguments) {
+      final CompletableFuture<O> renderedMessage = this.placeholderResolverStrategy.resolvePlaceholdersAsync(
+          this.moonshine,
+          receiver,
+          intermediateMessage,
+          this.moonshineMethod,
+          arguments
+      ).thenApply(resolvedPlaceholders -> this.messageRenderer.render(
+          receiver,
+          intermediateMessage,
+          resolvedPlaceholders,
+          this.method,
+          this.owner
+      ));
+
+      if (this.sends) {
+        return renderedMessage.thenAccept(message -> this.messageSender.send(receiver, message));
+      } else {
+        return renderedMessage;
+      }
+    }
+  }
+
+  /**
+   * A plan for methods which are only scanned on their first invocation, or when {@link Moonshine#validateAll()
+   * validated}, after which it executes a {@link MessagePlan}.
+   * <p>
+   * A method is scanned at most once. If scanning fails, it is retried on the next invocation.
+   * </p>
+   *
+   * @param <R> the receiver type
+   * @param <I> the intermediate message type
+   * @param <O> the output/rendered message type
+   * @param <F> the finalised placeholder type, post-resolving
+   */
+  /* package-private */ static final class LazyMessagePlan<R, I, O, F> extends InvocationPlan {
+    private final Moonshine<R, I, O, F> moonshine;
+    private final Method method;
+    private volatile @Nullable MessagePlan<R, I, O, F> plan;
+
+    /* package-private */ LazyMessagePlan(final Moonshine<R, I, O, F> moonshine, final Method method) {
+      this.moonshine = moonshine;
+      this.method = method;
+    }
+
+    /**
+     * Get the plan of the scanned method, scanning it if it is yet to be.
+     *
+     * @return the plan of the scanned method
+     * @throws UnscannableMethodException if the method cannot be scanned
+     */
+    /* package-private */ MessagePlan<R, I, O, F> plan() throws UnscannableMethodException {
+      @Nullable MessagePlan<R, I, O, F> plan = this.plan;
+      if (plan != null) {
+        return plan;
+      }
+
+      synchronized (this) {
+        plan = this.plan;
+        if (plan == null) {
+          plan = new MessagePlan<>(this.moonshine, this.moonshine.scan(this.method));
+          this.plan = plan;
+        }
+        return plan;
+      }
+    }
+
+    @Override
+    /* package-private */ MoonshineMethod<? extends R> moonshineMethod() throws UnscannableMethodException {
+      return this.plan().moonshineMethod();
+    }
+
+    @Override
+    /* package-private */ @Nullable Object invoke(final Object proxy, final @Nullable Object[] arguments)
+        throws Exception {
+      return this.plan().invoke(proxy, arguments);
+    }
+  }
+}
@@ -21,21 +21,32 @@ import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.geantyref.TypeToken;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
 import net.kyori.moonshine.exception.MissingMoonshineMethodMappingException;
+import net.kyori.moonshine.exception.scan.MultipleUnscannableMethodsException;
 import net.kyori.moonshine.exception.scan.UnscannableMethodException;
+import net.kyori.moonshine.internal.MethodTable;
+import net.kyori.moonshine.internal.ThrowableUtils;
 import net.kyori.moonshine.message.IMessageRenderer;
 import net.kyori.moonshine.message.IMessageSender;
 import net.kyori.moonshine.message.IMessageSource;
 import net.kyori.moonshine.model.MoonshineMethod;
+import net.kyori.moonshine.model.ScanSnapshot;
 import net.kyori.moonshine.placeholder.IPlaceholderResolver;
 import net.kyori.moonshine.receiver.IReceiverLocatorResolver;
 import net.kyori.moonshine.strategy.IPlaceholderResolverStrategy;
 import net.kyori.moonshine.util.Weighted;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Pure;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 
@@ -91,10 +102,31 @@ public final class Moonshine<R, I, O, F> {
   private final Map<Type, NavigableSet<Weighted<? extends IPlaceholderResolver<? extends R, ?, ? extends F>>>> weightedPlaceholderResolvers;
 
   /**
-   * All scanned methods of this proxy, excluding special-case methods such as {@code default} methods and any returning
-   * {@link Moonshine}.
+   * The snapshot of a previous scan to reuse the results of, if any and applicable to the proxied type.
    */
-  private final Map<Method, MoonshineMethod<? extends R>> scannedMethods;
+  private final @Nullable ScanSnapshot scanSnapshot;
+
+  /**
+   * The dense ordinals of all methods of this proxy, including those of {@link Object} a proxy must implement, which
+   * index {@link #invocationPlans}.
+   */
+  private final MethodTable methodTable;
+
+  /**
+   * The methods of {@link #methodTable}, by their ordinal.
+   */
+  private final Method[] methods;
+
+  /**
+   * The ordinals of the methods of {@link #methodTable} by their {@link ScanSnapshot#signature(Method) signature}, for
+   * implementations generated at compile-time to find their invocation plans by without any reflection.
+   */
+  private final Map<String, Integer> ordinalsBySignature;
+
+  /**
+   * The precomputed invocation plans of all methods of this proxy by their ordinal.
+   */
+  private final InvocationPlan[] invocationPlans;
 
   Moonshine(final TypeToken<?> proxiedType,
       final IPlaceholderResolverStrategy<R, I, F> placeholderResolverStrategy,
@@ -102,7 +134,10 @@ public final class Moonshine<R, I, O, F> {
       final IMessageRenderer<R, I, O, F> messageRenderer,
       final IMessageSender<R, O> messageSender,
       final NavigableSet<Weighted<? extends IReceiverLocatorResolver<? extends R>>> weightedReceiverLocatorResolvers,
-      final Map<Type, NavigableSet<Weighted<? extends IPlaceholderResolver<? extends R, ?, ? extends F>>>> weightedPlaceholderResolvers)
+      final Map<Type, NavigableSet<Weighted<? extends IPlaceholderResolver<? extends R, ?, ? extends F>>>> weightedPlaceholderResolvers,
+      final boolean lazyScanning,
+      final @Nullable Executor scanExecutor,
+      final @Nullable ScanSnapshot scanSnapshot)
       throws UnscannableMethodException {
     this.proxiedType = proxiedType;
     this.placeholderResolverStrategy = placeholderResolverStrategy;
@@ -112,22 +147,119 @@ public final class Moonshine<R, I, O, F> {
     this.weightedReceiverLocatorResolvers = Collections.unmodifiableNavigableSet(weightedReceiverLocatorResolvers);
     this.weightedPlaceholderResolvers = Collections.unmodifiableMap(weightedPlaceholderResolvers);
 
-    final Method[] methods = GenericTypeReflector.erase(proxiedType.getType()).getMethods();
-    final Map<Method, MoonshineMethod<? extends R>> scannedMethods = new HashMap<>(methods.length);
-    for (final Method method : methods) {
-      if (method.isDefault() || method.getReturnType() == Moonshine.class) {
+    final Class<?> erasedType = GenericTypeReflector.erase(proxiedType.getType());
+    final boolean snapshotApplies = scanSnapshot != null
+        && scanSnapshot.matches(erasedType, this.receiverLocatorResolverWeights());
+    this.scanSnapshot = snapshotApplies ? scanSnapshot : null;
+
+    final Method[] declaredMethods = erasedType.getMethods();
+    final Method[] methods = Arrays.copyOf(declaredMethods, declaredMethods.length + 3);
+    final InvocationPlan[] invocationPlans = new InvocationPlan[methods.length];
+    final List<CompletableFuture<Void>> parallelScans = new ArrayList<>();
+    for (int ordinal = 0; ordinal < declaredMethods.length; ++ordinal) {
+      final Method method = declaredMethods[ordinal];
+      if (method.isDefault()) {
+        invocationPlans[ordinal] = new InvocationPlan.DefaultMethodPlan(method);
+        continue;
+      }
+      if (method.getReturnType() == Moonshine.class) {
+        invocationPlans[ordinal] = new InvocationPlan.MoonshineAccessorPlan(this);
+        continue;
+      }
+
+      if (lazyScanning) {
+        invocationPlans[ordinal] = new InvocationPlan.LazyMessagePlan<>(this, method);
         continue;
       }
 
-      final MoonshineMethod<? extends R> moonshineMethod =
-          new MoonshineMethod<>(this, proxiedType, method);
-      scannedMethods.put(method, moonshineMethod);
+      if (scanExecutor != null) {
+        final int scannedOrdinal = ordinal;
+        parallelScans.add(CompletableFuture.runAsync(() -> {
+          try {
+            invocationPlans[scannedOrdinal] = new InvocationPlan.MessagePlan<>(this, this.scan(method));
+          } catch (final UnscannableMethodException ex) {
+            throw new CompletionException(ex);
+          }
+        }, scanExecutor));
+        continue;
+      }
+
+      invocationPlans[ordinal] = new InvocationPlan.MessagePlan<>(this, this.scan(method));
+    }
+    awaitScans(proxiedType.getType(), parallelScans);
+
+    // Proxies always invoke these with the methods declared by Object, even when redeclared by the proxied type.
+    final int objectOrdinal = declaredMethods.length;
+    try {
+      methods[objectOrdinal] = Object.class.getMethod("equals", Object.class);
+      methods[objectOrdinal + 1] = Object.class.getMethod("hashCode");
+      methods[objectOrdinal + 2] = Object.class.getMethod("toString");
+    } catch (final NoSuchMethodException ex) {
+      throw new IllegalStateException("java.lang.Object lacks its own methods", ex);
+    }
+    invocationPlans[objectOrdinal] = new InvocationPlan.EqualsPlan(this);
+    invocationPlans[objectOrdinal + 1] = new InvocationPlan.HashCodePlan(this);
+    invocationPlans[objectOrdinal + 2] = new InvocationPlan.ToStringPlan(this);
+
+    this.methodTable = new MethodTable(methods);
+    this.methods = methods;
+    final Map<String, Integer> ordinalsBySignature = new HashMap<>(methods.length * 2);
+    for (int ordinal = 0; ordinal < methods.length; ++ordinal) {
+      ordinalsBySignature.putIfAbsent(ScanSnapshot.signature(methods[ordinal]), ordinal);
     }
-    this.scannedMethods = Collections.unmodifiableMap(scannedMethods);
+    this.ordinalsBySignature = ordinalsBySignature;
+    this.invocationPlans = invocationPlans;
 
     this.invocationHandler = new MoonshineInvocationHandler<>(this);
   }
 
+  /**
+   * Scan a single method of the proxied type.
+   *
+   * @param method the method to scan
+   * @return the scanned method
+   * @throws UnscannableMethodException if the method cannot be scanned
+   */
+  /* package-private */ MoonshineMethod<R> scan(final Method method) throws UnscannableMethodException {
+    return new MoonshineMethod<>(this, this.proxiedType, method,
+        this.scanSnapshot == null ? null : this.scanSnapshot.entry(method));
+  }
+
+  private int[] receiverLocatorResolverWeights() {
+    return this.weightedReceiverLocatorResolvers.descendingSet().stream()
+        .mapToInt(Weighted::weight)
+        .toArray();
+  }
+
+  /**
+   * Wait for every parallel scan to finish, then fail with every failure of them, if any.
+   *
+   * @param owner the scanned type
+   * @param scans the parallel scans, in the order of the methods of the scanned type
+   * @throws UnscannableMethodException if any method could not be scanned
+   */
+  private static void awaitScans(final Type owner, final List<CompletableFuture<Void>> scans)
+      throws UnscannableMethodException {
+    final List<UnscannableMethodException> failures = new ArrayList<>(0);
+    for (final CompletableFuture<Void> scan : scans) {
+      try {
+        scan.join();
+      } catch (final CompletionException ex) {
+        if (ex.getCause() instanceof UnscannableMethodException) {
+          failures.add((UnscannableMethodException) ex.getCause());
+        } else {
+          ThrowableUtils.sneakyThrow(ex.getCause() == null ? ex : ex.getCause());
+        }
+      }
+    }
+
+    if (failures.size() == 1) {
+      throw failures.get(0);
+    } else if (!failures.isEmpty()) {
+      throw new MultipleUnscannableMethodsException(owner, failures);
+    }
+  }
+
   @SideEffectFree
   public static <T, R> MoonshineBuilder.Receivers<T, R> builder(final TypeToken<T> proxiedType) {
     return MoonshineBuilder.newBuilder(proxiedType);
@@ -177,19 +309,111 @@ public final class Moonshine<R, I, O, F> {
 
   /**
    * Find a scanned method by the given method mapping.
+   * <p>
+   * If the method is yet to be scanned, as scanning is {@link MoonshineBuilder.Resolved#lazyScanning(boolean) lazy},
+   * it is scanned now.
+   * </p>
    *
    * @param method the method to find a scanned method for
    * @return the scanned method
    * @throws MissingMoonshineMethodMappingException if a method mapping is missing somehow; this shouldn't happen, but
    * is here just in case
+   * @throws UnscannableMethodException if the method is yet to be scanned, and cannot be
    */
-  public MoonshineMethod<? extends R> scannedMethod(final Method method) throws MissingMoonshineMethodMappingException {
-    final var scanned = this.scannedMethods.get(method);
+  @SuppressWarnings("unchecked") // The plans of this instance only invoke methods scanned with this instance.
+  public MoonshineMethod<? extends R> scannedMethod(final Method method)
+      throws MissingMoonshineMethodMappingException, UnscannableMethodException {
+    final @Nullable MoonshineMethod<?> scanned = this.invocationPlan(method).moonshineMethod();
     if (scanned == null) {
       throw new MissingMoonshineMethodMappingException(this.proxiedType(), method);
     }
 
-    return scanned;
+    return (MoonshineMethod<? extends R>) scanned;
+  }
+
+  /**
+   * Scan every method of the proxied type which is yet to be scanned, failing if any cannot be.
+   * <p>
+   * This is only of use if scanning is {@link MoonshineBuilder.Resolved#lazyScanning(boolean) lazy}, e.g. to ensure in
+   * tests that every method can be scanned; otherwise, every method was scanned on creation.
+   * </p>
+   *
+   * @throws UnscannableMethodException if any method cannot be scanned
+   */
+  public void validateAll() throws UnscannableMethodException {
+    for (final InvocationPlan plan : this.invocationPlans) {
+      plan.moonshineMethod();
+    }
+  }
+
+  /**
+   * Take a snapshot of the scan results of every method of the proxied type, to be passed to {@link
+   * MoonshineBuilder.Resolved#scanSnapshot(ScanSnapshot)} on the next start.
+   * <p>
+   * If scanning is {@link MoonshineBuilder.Resolved#lazyScanning(boolean) lazy}, every method yet to be scanned is
+   * scanned now.
+   * </p>
+   *
+   * @return the snapshot
+   * @throws UnscannableMethodException if any method cannot be scanned
+   */
+  public ScanSnapshot scanSnapshot() throws UnscannableMethodException {
+    final Class<?> erasedType = GenericTypeReflector.erase(this.proxiedType());
+    final Map<String, ScanSnapshot.Entry> entries = new HashMap<>();
+    for (final InvocationPlan plan : this.invocationPlans) {
+      final @Nullable MoonshineMethod<?> scanned = plan.moonshineMethod();
+      if (scanned != null) {
+        entries.put(ScanSnapshot.signature(scanned.reflectMethod()),
+            new ScanSnapshot.Entry(ScanSnapshot.fingerprint(scanned.reflectMethod()), scanned.messageKey(),
+                scanned.receiverLocatorResolverIndex(), scanned.returnMode()));
+      }
+    }
+
+    return new ScanSnapshot(erasedType.getName(), this.receiverLocatorResolverWeights(), entries);
+  }
+
+  /**
+   * Find the precomputed invocation plan of the given method.
+   *
+   * @param method the method to find the invocation plan of
+   * @return the invocation plan
+   * @throws MissingMoonshineMethodMappingException if the method is not a method of the proxied type
+   */
+  /* package-private */ InvocationPlan invocationPlan(final Method method)
+      throws MissingMoonshineMethodMappingException {
+    final int ordinal = this.methodTable.ordinal(method);
+    if (ordinal < 0) {
+      throw new MissingMoonshineMethodMappingException(this.proxiedType(), method);
+    }
+
+    return this.invocationPlans[ordinal];
+  }
+
+  /**
+   * Find the ordinal of a method by its signature.
+   *
+   * @param signature the {@link ScanSnapshot#signature(Method) signature} of the method
+   * @return the ordinal of the method, or {@code -1} if it is not a method of the proxied type
+   */
+  /* package-private */ int ordinal(final String signature) {
+    final @Nullable Integer ordinal = this.ordinalsBySignature.get(signature);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  /**
+   * @param ordinal the ordinal of a method
+   * @return the method
+   */
+  /* package-private */ Method method(final int ordinal) {
+    return this.methods[ordinal];
+  }
+
+  /**
+   * @param ordinal the ordinal of a method
+   * @return the invocation plan of the method
+   */
+  /* package-private */ InvocationPlan invocationPlan(final int ordinal) {
+    return this.invocationPlans[ordinal];
   }
 
   /**
@@ -19,21 +19,26 @@ package net.kyori.moonshine;
 
 import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.geantyref.TypeToken;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import net.kyori.moonshine.annotation.meta.NotThreadSafe;
+import net.kyori.moonshine.exception.scan.MultipleUnscannableMethodsException;
 import net.kyori.moonshine.exception.scan.UnscannableMethodException;
 import net.kyori.moonshine.message.IMessageRenderer;
 import net.kyori.moonshine.message.IMessageSender;
 import net.kyori.moonshine.message.IMessageSource;
+import net.kyori.moonshine.model.ScanSnapshot;
 import net.kyori.moonshine.placeholder.IPlaceholderResolver;
 import net.kyori.moonshine.receiver.IReceiverLocatorResolver;
 import net.kyori.moonshine.strategy.IPlaceholderResolverStrategy;
 import net.kyori.moonshine.util.Weighted;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.common.returnsreceiver.qual.This;
 import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.Pure;
@@ -167,6 +172,11 @@ public final class MoonshineBuilder {
     private final IPlaceholderResolverStrategy<R, I, F> placeholderResolverStrategy;
     private final Map<Type, NavigableSet<Weighted<? extends IPlaceholderResolver<? extends R, ?, ? extends F>>>>
         weightedPlaceholderResolvers = new HashMap<>();
+    private ProxyBackend proxyBackend = ProxyBackend.JAVA_PROXY;
+    private MethodHandles.@Nullable Lookup proxyLookup = null;
+    private boolean lazyScanning = false;
+    private @Nullable Executor scanExecutor = null;
+    private @Nullable ScanSnapshot scanSnapshot = null;
 
     private Resolved(final TypeToken<T> proxiedType,
         final NavigableSet<Weighted<? extends IReceiverLocatorResolver<? extends R>>> weightedReceiverLocatorResolvers,
@@ -219,20 +229,139 @@ public final class MoonshineBuilder {
       return this;
     }
 
+    /**
+     * Set the backend to implement the proxied type with. Defaults to {@link ProxyBackend#JAVA_PROXY}.
+     *
+     * @param proxyBackend the backend to use
+     * @return this builder
+     */
+    @Deterministic
+    public @This Resolved<T, R, I, O, F> proxyBackend(final ProxyBackend proxyBackend) {
+      this.proxyBackend = proxyBackend;
+      return this;
+    }
+
+    /**
+     * Set the lookup to define {@link ProxyBackend#GENERATED generated} implementations with, or {@code null} to define
+     * them in the package of the proxied type. Defaults to {@code null}.
+     * <p>
+     * Moonshine may only define classes in packages of its own module, and as such, in its own class loader; a lookup
+     * lets implementations be defined in the package and class loader of its lookup class instead, such as for proxied
+     * types loaded by the class loader of a plugin. This would usually be {@link MethodHandles#lookup()}, called in the
+     * package of the proxied type; the lookup class must be able to access both the proxied type and Moonshine.
+     * </p>
+     *
+     * @param proxyLookup the lookup to define generated implementations with, or {@code null}
+     * @return this builder
+     * @throws IllegalArgumentException if the lookup does not have {@link MethodHandles.Lookup#hasFullPrivilegeAccess()
+     *                                  full privilege access}
+     */
+    @Deterministic
+    public @This Resolved<T, R, I, O, F> proxyLookup(final MethodHandles.@Nullable Lookup proxyLookup) {
+      if (proxyLookup != null && !proxyLookup.hasFullPrivilegeAccess()) {
+        throw new IllegalArgumentException("the lookup of " + proxyLookup.lookupClass()
+            + " cannot define classes, as it does not have full privilege access");
+      }
+
+      this.proxyLookup = proxyLookup;
+      return this;
+    }
+
+    /**
+     * Set whether to scan methods lazily, on their first invocation, rather than all on creation. Defaults to {@code
+     * false}.
+     * <p>
+     * Lazy scanning saves the time and memory to scan methods which are never invoked, at the cost of only discovering
+     * unscannable methods once invoked; use {@link Moonshine#validateAll()} to discover them up front, e.g. in tests.
+     * An unscannable method throws its {@link UnscannableMethodException} on invocation, wrapped in an {@link
+     * java.lang.reflect.UndeclaredThrowableException} unless declared by the method.
+     * </p>
+     *
+     * @param lazyScanning whether to scan methods lazily
+     * @return this builder
+     */
+    @Deterministic
+    public @This Resolved<T, R, I, O, F> lazyScanning(final boolean lazyScanning) {
+      this.lazyScanning = lazyScanning;
+      return this;
+    }
+
+    /**
+     * Set an executor to scan methods on in parallel, or {@code null} to scan them one by one on the creating thread.
+     * Defaults to {@code null}.
+     * <p>
+     * Parallel scanning does not fail on the first unscannable method, but scans every method first; if more than one
+     * cannot be scanned, a {@link MultipleUnscannableMethodsException} reports all of them. This has no effect if
+     * scanning is {@link #lazyScanning(boolean) lazy}.
+     * </p>
+     *
+     * @param scanExecutor the executor to scan methods on, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @return this builder
+     */
+    @Deterministic
+    public @This Resolved<T, R, I, O, F> parallelScanning(final @Nullable Executor scanExecutor) {
+      this.scanExecutor = scanExecutor;
+      return this;
+    }
+
+    /**
+     * Set a snapshot of a previous scan to reuse the results of, as taken with {@link Moonshine#scanSnapshot()}.
+     * Defaults to {@code null}.
+     * <p>
+     * The snapshot is only used if taken of the same proxied type, and the weights of the receiver locator resolvers
+     * have not changed since; otherwise, every method is scanned afresh. Methods whose signatures or annotations have
+     * changed since are scanned afresh as well.
+     * </p>
+     *
+     * @param scanSnapshot the snapshot to reuse, or {@code null} to scan every method afresh
+     * @return this builder
+     */
+    @Deterministic
+    public @This Resolved<T, R, I, O, F> scanSnapshot(final @Nullable ScanSnapshot scanSnapshot) {
+      this.scanSnapshot = scanSnapshot;
+      return this;
+    }
+
     @SideEffectFree
     public T create() throws UnscannableMethodException {
       return this.create(Thread.currentThread().getContextClassLoader());
     }
 
+    /**
+     * Create the implementation of the proxied type.
+     * <p>
+     * If the proxied type was processed by the {@code moonshine-processor} annotation processor, its generated
+     * implementation is always used; otherwise, the configured {@link #proxyBackend(ProxyBackend) backend} is.
+     * </p>
+     *
+     * @param classLoader the class loader to define a {@link Proxy} in; a {@link ProxyBackend#GENERATED generated}
+     *                    implementation is always defined in the class loader of the proxied type, or that of the
+     *                    class of the {@link #proxyLookup(MethodHandles.Lookup) proxy lookup}
+     * @return the implementation of the proxied type
+     * @throws UnscannableMethodException if any method of the proxied type cannot be scanned, unless scanning is
+     *                                    {@link #lazyScanning(boolean) lazy}
+     */
     @SuppressWarnings("unchecked") // Proxy returns Object; we expect T which is provided in #proxiedType.
     @SideEffectFree
     public T create(final ClassLoader classLoader) throws UnscannableMethodException {
       final Moonshine<R, I, O, F> moonshine = new Moonshine<>(this.proxiedType, this.placeholderResolverStrategy,
           this.messageSource, this.messageRenderer, this.messageSender, this.weightedReceiverLocatorResolvers,
-          this.weightedPlaceholderResolvers);
-      return (T) Proxy.newProxyInstance(classLoader,
-          new Class[]{GenericTypeReflector.erase(this.proxiedType.getType())},
-          moonshine.invocationHandler());
+          this.weightedPlaceholderResolvers, this.lazyScanning, this.scanExecutor, this.scanSnapshot);
+      final Class<?> erasedType = GenericTypeReflector.erase(this.proxiedType.getType());
+      final @Nullable Object processed = ProcessedProxyFactory.create(erasedType, moonshine);
+      if (processed != null) {
+        return (T) processed;
+      }
+
+      if (this.proxyBackend == ProxyBackend.GENERATED) {
+        final @Nullable Object generated = GeneratedProxyFactory.create(erasedType, moonshine, this.proxyLookup);
+        if (generated != null) {
+          return (T) generated;
+        }
+        // No class can be generated for the proxied type; fall back to a Proxy.
+      }
+
+      return (T) Proxy.newProxyInstance(classLoader, new Class[]{erasedType}, moonshine.invocationHandler());
     }
   }
 }
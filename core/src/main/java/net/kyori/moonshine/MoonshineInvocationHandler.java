@@ -18,12 +18,10 @@
 package net.kyori.moonshine;
 
 import io.leangen.geantyref.GenericTypeReflector;
-import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
-import net.kyori.moonshine.internal.ReflectiveUtils;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -49,96 +47,20 @@ import org.checkerframework.checker.nullness.qual.Nullable;
   @Override
   public @Nullable Object invoke(final Object proxy, final Method method, @Nullable Object @Nullable [] args)
       throws Throwable {
-    // First we need to ensure this is not one of the _required_ implemented methods, as that would
-    //   cause other exceptions later down the line and break expected behaviour of Java objects.
-    if (isEqualsMethod(method)) {
-      return this.proxiedEquals(args);
-    } else if (isHashCodeMethod(method)) {
-      return this.moonshine.hashCode();
-    } else if (isToStringMethod(method)) {
-      return this.proxiedToString();
-    }
-
-    // With that out of the way, get rid of nulls in our parameters.
+    // Get rid of nulls in our parameters.
     // We do not want a null array as that becomes inconvenient to us.
     if (args == null) {
       // As an empty array is immutable, there's also no reason not to just cache and reuse it.
       args = EMPTY_OBJECT_ARRAY;
     }
 
-    // We have nothing to do if the user has specified a default implementation...
-    if (method.isDefault()) {
-      // ... in which case, find it and invoke it appropriately.
-      final MethodHandle handle = ReflectiveUtils.findMethod(method, proxy);
-      if (args.length == 0) {
-        return handle.invoke();
-      } else {
-        return handle.invokeWithArguments(args);
-      }
-    }
-
-    // If for some reason the user wants to access the Moonshine instance, we will let them do so,
-    //   though it is not advised.
-    if (method.getReturnType() == Moonshine.class) {
-      return this.moonshine;
-    }
-
-    final var moonshineMethod = this.moonshine.scannedMethod(method);
-    final R receiver = moonshineMethod.receiverLocator().locate(method, proxy, args);
-    final I intermediateMessage = this.moonshine.messageSource().messageOf(receiver, moonshineMethod.messageKey());
-    final var resolvedPlaceholders =
-        this.moonshine.placeholderResolverStrategy()
-            .resolvePlaceholders(
-                this.moonshine,
-                receiver,
-                intermediateMessage,
-                moonshineMethod,
-                args
-            );
-    final O renderedMessage = this.moonshine.messageRenderer().render(
-        receiver,
-        intermediateMessage,
-        resolvedPlaceholders,
-        method,
-        this.moonshine.proxiedType()
-    );
-
-    if (method.getReturnType() == void.class) {
-      this.moonshine.messageSender().send(receiver, renderedMessage);
-      return null;
-    } else {
-      return renderedMessage;
-    }
-  }
-
-  private boolean proxiedEquals(final @Nullable Object @Nullable [] args) {
-    if (args == null || args.length != 1) {
-      return false;
-    }
-
-    return args[0] == this || args[0] == this.moonshine;
-  }
-
-  private String proxiedToString() {
-    return GenericTypeReflector.getTypeName(this.moonshine.proxiedType())
-        + '@' + this.moonshine.hashCode();
-  }
-
-  private static boolean isEqualsMethod(final Method method) {
-    return "equals".equals(method.getName())
-        && method.getParameterCount() == 1
-        && method.getReturnType() == boolean.class;
-  }
-
-  private static boolean isHashCodeMethod(final Method method) {
-    return "hashCode".equals(method.getName())
-        && method.getParameterCount() == 0
-        && method.getReturnType() == int.class;
+    // Everything about the method, including whether it is one of the _required_ implemented methods of Java objects,
+    //   was determined when the Moonshine instance was created; all that is left is to execute its plan.
+    return this.moonshine.invocationPlan(method).invoke(proxy, args);
   }
 
-  private static boolean isToStringMethod(final Method method) {
-    return "toString".equals(method.getName())
-        && method.getParameterCount() == 0
-        && method.getReturnType() == String.class;
+  /* package-private */ static String proxiedToString(final Moonshine<?, ?, ?, ?> moonshine) {
+    return GenericTypeReflector.getTypeName(moonshine.proxiedType())
+        + '@' + moonshine.hashCode();
   }
 }
@@ -0,0 +1,151 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.exception.MissingMoonshineMethodMappingException;
+import net.kyori.moonshine.internal.ThrowableUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The supertype of all generated implementations of a {@link Moonshine}-driven type.
+ * <p>
+ * Generated implementations implement the proxied type with one stub per scanned method, each calling {@link
+ * #dispatch(int, Object[])} with the index of its method. {@code default} methods are simply inherited, and methods
+ * returning {@link Moonshine} return {@link #moonshine(MoonshineProxy)}.
+ * </p>
+ * <p>
+ * Implementations generated at runtime pass the methods they dispatch, while those generated at compile-time pass their
+ * signatures instead, so as to find their invocation plans without any reflection.
+ * </p>
+ */
+@ThreadSafe
+public abstract class MoonshineProxy {
+  /**
+   * An empty array to substitute a state of missing method arguments.
+   */
+  private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
+
+  private final Moonshine<?, ?, ?, ?> moonshine;
+
+  /**
+   * The methods of the proxied type, by the index its stub dispatches with.
+   */
+  private final Method[] methods;
+
+  /**
+   * The invocation plans of {@link #methods}, by the same index.
+   */
+  private final InvocationPlan[] plans;
+
+  /**
+   * @param moonshine the meta instance to be driven by
+   * @param methods   the dispatched methods, by the index their stubs dispatch with
+   * @throws IllegalArgumentException if any method is not a method of the proxied type
+   */
+  protected MoonshineProxy(final Moonshine<?, ?, ?, ?> moonshine, final Method[] methods) {
+    this.moonshine = moonshine;
+    this.methods = methods;
+    this.plans = new InvocationPlan[methods.length];
+    try {
+      for (int idx = 0; idx < methods.length; ++idx) {
+        this.plans[idx] = moonshine.invocationPlan(methods[idx]);
+      }
+    } catch (final MissingMoonshineMethodMappingException ex) {
+      throw new IllegalArgumentException("a dispatched method is not a method of the proxied type", ex);
+    }
+  }
+
+  /**
+   * @param moonshine  the meta instance to be driven by
+   * @param signatures the signatures of the dispatched methods, by the index their stubs dispatch with, formed of the
+   *                   name of each method followed by its method descriptor
+   * @throws IllegalArgumentException if any signature is not that of a method of the proxied type
+   */
+  protected MoonshineProxy(final Moonshine<?, ?, ?, ?> moonshine, final String[] signatures) {
+    this.moonshine = moonshine;
+    this.methods = new Method[signatures.length];
+    this.plans = new InvocationPlan[signatures.length];
+    for (int idx = 0; idx < signatures.length; ++idx) {
+      final int ordinal = moonshine.ordinal(signatures[idx]);
+      if (ordinal < 0) {
+        throw new IllegalArgumentException("the proxied type has no method " + signatures[idx]
+            + "; has it changed since its implementation was generated?");
+      }
+      this.methods[idx] = moonshine.method(ordinal);
+      this.plans[idx] = moonshine.invocationPlan(ordinal);
+    }
+  }
+
+  /**
+   * Get the meta instance an implementation is driven by.
+   * <p>
+   * This is {@code static} so as to never clash with methods of the proxied type.
+   * </p>
+   *
+   * @param proxy the implementation
+   * @return the meta instance driving {@code proxy}
+   */
+  protected static Moonshine<?, ?, ?, ?> moonshine(final MoonshineProxy proxy) {
+    return proxy.moonshine;
+  }
+
+  /**
+   * Invoke the method of the given index by executing its precomputed invocation plan.
+   * <p>
+   * Checked exceptions not declared by the method are wrapped in an {@link UndeclaredThrowableException}, equivalent to
+   * a {@link java.lang.reflect.Proxy}.
+   * </p>
+   *
+   * @param index     the index of the method
+   * @param arguments the arguments passed to the method, or {@code null} if it takes none
+   * @return the rendered message, or {@code null} if the method sends it
+   */
+  protected final @Nullable Object dispatch(final int index, final @Nullable Object @Nullable [] arguments) {
+    try {
+      return this.plans[index].invoke(this, arguments == null ? EMPTY_OBJECT_ARRAY : arguments);
+    } catch (final RuntimeException | Error ex) {
+      throw ex;
+    } catch (final Throwable throwable) {
+      for (final Class<?> declared : this.methods[index].getExceptionTypes()) {
+        if (declared.isInstance(throwable)) {
+          ThrowableUtils.sneakyThrow(throwable);
+        }
+      }
+
+      throw new UndeclaredThrowableException(throwable);
+    }
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    return other == this || other == this.moonshine;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.moonshine.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return MoonshineInvocationHandler.proxiedToString(this.moonshine);
+  }
+}
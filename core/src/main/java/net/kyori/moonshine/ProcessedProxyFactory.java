@@ -0,0 +1,116 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.internal.ThrowableUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A factory of the {@link MoonshineProxy} implementations generated at compile-time by the {@code moonshine-processor}
+ * annotation processor.
+ * <p>
+ * The implementation of {@code a.b.Outer.Inner} is {@code a.b.Outer_Inner_Moonshine}, with a public constructor
+ * accepting the {@link Moonshine} instance to be driven by.
+ * </p>
+ */
+@ThreadSafe
+/* package-private */ final class ProcessedProxyFactory {
+  /**
+   * The suffix of the simple name of processed implementations.
+   */
+  /* package-private */ static final String SUFFIX = "_Moonshine";
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Moonshine.class);
+
+  /**
+   * The constructors of the processed implementations of each proxied type, if any. These are held by the proxied
+   * types themselves, and as such never outlive their class loaders.
+   */
+  private static final ClassValue<Optional<MethodHandle>> CONSTRUCTORS = new ClassValue<>() {
+    @Override
+    protected Optional<MethodHandle> computeValue(final Class<?> type) {
+      return Optional.ofNullable(findConstructor(type));
+    }
+  };
+
+  private ProcessedProxyFactory() {
+  }
+
+  /**
+   * Create a new instance of the processed implementation of the given type, if there is one.
+   *
+   * @param type      the interface to implement
+   * @param moonshine the meta instance to drive the implementation
+   * @return the new implementation, or {@code null} if {@code type} was not processed
+   */
+  /* package-private */ static @Nullable Object create(final Class<?> type, final Moonshine<?, ?, ?, ?> moonshine) {
+    final @Nullable MethodHandle constructor = CONSTRUCTORS.get(type).orElse(null);
+    if (constructor == null) {
+      return null;
+    }
+
+    try {
+      return (MoonshineProxy) constructor.invokeExact(moonshine);
+    } catch (final Throwable throwable) {
+      ThrowableUtils.sneakyThrow(throwable);
+      throw new RuntimeException(throwable);
+    }
+  }
+
+  /**
+   * Get the binary name of the processed implementation of the given type.
+   *
+   * @param type the proxied type
+   * @return the binary name of its implementation
+   */
+  /* package-private */ static String implementationName(final Class<?> type) {
+    final String packageName = type.getPackageName();
+    final String nestedName = packageName.isEmpty()
+        ? type.getName()
+        : type.getName().substring(packageName.length() + 1);
+    final String simpleName = nestedName.replace('$', '_') + SUFFIX;
+    return packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+  }
+
+  private static @Nullable MethodHandle findConstructor(final Class<?> type) {
+    final Class<?> implementation;
+    try {
+      implementation = Class.forName(implementationName(type), false, type.getClassLoader());
+    } catch (final ClassNotFoundException | LinkageError ex) {
+      // Either the type was not processed, or its implementation links against classes its class loader cannot load.
+      return null;
+    }
+
+    if (!type.isAssignableFrom(implementation) || !MoonshineProxy.class.isAssignableFrom(implementation)) {
+      // Someone else's class which happens to share the name.
+      return null;
+    }
+
+    try {
+      return MethodHandles.publicLookup().findConstructor(implementation, CONSTRUCTOR_TYPE)
+          .asType(CONSTRUCTOR_TYPE.changeReturnType(MoonshineProxy.class));
+    } catch (final NoSuchMethodException | IllegalAccessException ex) {
+      return null;
+    }
+  }
+}
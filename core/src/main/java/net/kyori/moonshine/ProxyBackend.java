@@ -0,0 +1,46 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * The backend which implements a {@link Moonshine}-driven type.
+ */
+public enum ProxyBackend {
+  /**
+   * A {@link Proxy} dispatching every call through a single invocation handler.
+   */
+  JAVA_PROXY,
+
+  /**
+   * A generated hidden class implementing the proxied type with one direct stub per scanned method.
+   * <p>
+   * Each stub still passes its arguments in an array, but invokes the precomputed plan of its method directly, without
+   * looking up the method it was invoked with as a {@link Proxy} has to, nor the indirection of an invocation handler.
+   * </p>
+   * <p>
+   * The class is defined in the package of the proxied type by default. Moonshine may only define classes in packages
+   * of its own module, so this requires the proxied type to be in the same module as Moonshine, and as such the same
+   * class loader; types of any other class loader, such as that of a plugin, need a {@link
+   * MoonshineBuilder.Resolved#proxyLookup(java.lang.invoke.MethodHandles.Lookup) proxy lookup} to define the class
+   * with instead. If no class can be defined, {@link #JAVA_PROXY} is used instead.
+   * </p>
+   */
+  GENERATED,
+}
@@ -0,0 +1,35 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.exception.scan;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import net.kyori.moonshine.annotation.AsyncMessage;
+import net.kyori.moonshine.internal.ReflectiveUtils;
+
+/**
+ * A method had an {@link AsyncMessage} annotation, yet did not return a {@link CompletableFuture}.
+ */
+public final class InvalidAsyncMessageException extends UnscannableMethodException {
+  public InvalidAsyncMessageException(final Type owner, final Method method) {
+    super(owner, method,
+        "Given method has an @AsyncMessage annotation, but does not return a CompletableFuture: "
+            + ReflectiveUtils.formatMethodName(owner, method));
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.exception.scan;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.checkerframework.dataflow.qual.Pure;
+
+/**
+ * An aggregate of every {@link UnscannableMethodException} of a single scan, thrown when more than one method could not
+ * be scanned.
+ * <p>
+ * The {@link #owner()} and {@link #method()} are those of the first failure, which is also the cause; every other
+ * failure is {@link #getSuppressed() suppressed}.
+ * </p>
+ */
+public final class MultipleUnscannableMethodsException extends UnscannableMethodException {
+  private final List<UnscannableMethodException> exceptions;
+
+  public MultipleUnscannableMethodsException(final Type owner, final List<UnscannableMethodException> exceptions) {
+    super(owner, exceptions.get(0).method(),
+        exceptions.size() + " methods could not be scanned:"
+            + exceptions.stream()
+            .map(exception -> "\n - " + exception.getMessage())
+            .collect(Collectors.joining()),
+        exceptions.get(0));
+    this.exceptions = List.copyOf(exceptions);
+    for (int idx = 1; idx < exceptions.size(); ++idx) {
+      this.addSuppressed(exceptions.get(idx));
+    }
+  }
+
+  /**
+   * @return every failure of the scan, in the order of the methods of the scanned type
+   */
+  @Pure
+  public List<UnscannableMethodException> exceptions() {
+    return this.exceptions;
+  }
+}
@@ -20,7 +20,9 @@ package net.kyori.moonshine.message;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.Set;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A rendered of intermediate messages with resolved placeholders for a given receiver.
@@ -48,4 +50,19 @@ public interface IMessageRenderer<R, I, O, F> {
    */
   O render(final R receiver, final I intermediateMessage, final Map<String, ? extends F> resolvedPlaceholders,
       final Method method, final Type owner);
+
+  /**
+   * Find the names of the placeholders the intermediate message uses, such that resolving other placeholders may be
+   * skipped.
+   * <p>
+   * The names may include names which are not actually used, but must not lack any which are.
+   * </p>
+   *
+   * @param intermediateMessage the intermediate message to find the placeholders of
+   * @return the names of the placeholders the intermediate message uses, or {@code null} if they are unknown, in which
+   * case every placeholder is assumed to be used
+   */
+  default @Nullable Set<String> placeholderNames(final I intermediateMessage) {
+    return null;
+  }
 }
@@ -0,0 +1,61 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+
+/**
+ * A rendered message which is written out on demand, rather than held as text.
+ * <p>
+ * This lets a {@link IMessageRenderer} defer rendering to its {@link IMessageSender}, such that the rendered text can
+ * be written straight into the destination of the message.
+ * </p>
+ */
+@FunctionalInterface
+@ThreadSafe
+public interface IStreamedMessage {
+  /**
+   * Write the rendered message into the given output. This may be done any amount of times.
+   *
+   * @param output the output to write the message into
+   * @throws IOException if the output throws
+   */
+  void writeTo(final Appendable output) throws IOException;
+
+  /**
+   * Write the rendered message into the given buffer, encoded as UTF-8. This may be done any amount of times.
+   * <p>
+   * By default, the message is written into a {@link StringBuilder}, then encoded; implementations which can encode the
+   * message as they write it should override this.
+   * </p>
+   *
+   * @param output the buffer to write the encoded message into, from its position onwards
+   * @throws IOException             if writing the message throws
+   * @throws BufferOverflowException if the buffer has too little room left for the message, in which case nothing is
+   *                                 written into it
+   */
+  default void writeUtf8To(final ByteBuffer output) throws IOException {
+    final StringBuilder builder = new StringBuilder();
+    this.writeTo(builder);
+    output.put(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+
+/**
+ * A sender which writes {@link IStreamedMessage}s straight into an output of the receiver, such as a {@link
+ * java.io.Writer} of a socket or log, without the rendered text ever existing as a {@link String}.
+ *
+ * @param <R> the receiver type of the message
+ */
+@FunctionalInterface
+@ThreadSafe
+public interface IStreamingMessageSender<R> extends IMessageSender<R, IStreamedMessage> {
+  /**
+   * Get the output to write a message for the given receiver into.
+   *
+   * @param receiver the receiver of the message
+   * @return the output to write the message into
+   * @throws IOException if the output cannot be opened
+   */
+  Appendable output(final R receiver) throws IOException;
+
+  /**
+   * Finish a message written into the output of the given receiver, such as by terminating or flushing it. By default,
+   * this does nothing.
+   *
+   * @param receiver the receiver of the message
+   * @param output   the output the message was written into
+   * @throws IOException if the output throws
+   */
+  default void finish(final R receiver, final Appendable output) throws IOException {
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws UncheckedIOException if writing the message fails
+   */
+  @Override
+  default void send(final R receiver, final IStreamedMessage renderedMessage) {
+    try {
+      final Appendable output = this.output(receiver);
+      renderedMessage.writeTo(output);
+      this.finish(receiver, output);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -17,24 +17,37 @@
  */
 package net.kyori.moonshine.model;
 
+import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.geantyref.TypeToken;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import net.kyori.moonshine.Moonshine;
+import net.kyori.moonshine.annotation.AsyncMessage;
 import net.kyori.moonshine.annotation.Message;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.exception.scan.InvalidAsyncMessageException;
 import net.kyori.moonshine.exception.scan.MissingMessageAnnotationException;
 import net.kyori.moonshine.exception.scan.NoReceiverLocatorFoundException;
 import net.kyori.moonshine.exception.scan.UnscannableMethodException;
 import net.kyori.moonshine.message.IMessageSource;
 import net.kyori.moonshine.receiver.IReceiverLocator;
 import net.kyori.moonshine.receiver.IReceiverLocatorResolver;
+import net.kyori.moonshine.strategy.IPlaceholderResolverStrategy;
 import net.kyori.moonshine.util.Weighted;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Pure;
 
 /**
  * A data class for a scanned method.
+ * <p>
+ * Everything which does not change between invocations of the method is computed once when it is scanned, such that
+ * invoking it only has to execute this precomputed plan.
+ * </p>
  *
  * @param <R> the eventual receiver type of this message
  */
@@ -60,15 +73,79 @@ public final class MoonshineMethod<R> {
    */
   private final IReceiverLocator<? extends R> receiverLocator;
 
+  /**
+   * The index of the {@link IReceiverLocatorResolver} which resolved {@link #receiverLocator}, in descending order of
+   * weight.
+   */
+  private final int receiverLocatorResolverIndex;
+
+  /**
+   * The exact types of the parameters of this method, as resolved against the {@link #owner}.
+   */
+  private final List<Type> exactParameterTypes;
+
+  /**
+   * What to do with the rendered message of this method.
+   */
+  private final ReturnMode returnMode;
+
+  /**
+   * The state prepared by the placeholder resolver strategy to resolve the placeholders of this method.
+   */
+  private final @Nullable Object preparedPlaceholders;
+
   public MoonshineMethod(final Moonshine<R, ?, ?, ?> moonshine, final TypeToken<?> owner, final Method reflectMethod)
       throws UnscannableMethodException {
+    this(moonshine, owner, reflectMethod, null);
+  }
+
+  /**
+   * Scan a method, reusing the results of a previous scan where given.
+   *
+   * @param moonshine     the meta instance to scan the method for
+   * @param owner         the owning/declaring type of the method
+   * @param reflectMethod the method to scan
+   * @param snapshot      the results of a previous scan of the method, as taken with a {@link ScanSnapshot}, if any
+   * @throws UnscannableMethodException if the method cannot be scanned
+   */
+  public MoonshineMethod(final Moonshine<R, ?, ?, ?> moonshine, final TypeToken<?> owner, final Method reflectMethod,
+      final ScanSnapshot.@Nullable Entry snapshot) throws UnscannableMethodException {
     this.owner = owner;
     this.reflectMethod = reflectMethod;
 
-    final Message message = this.findMessageAnnotation();
-    this.messageKey = message.value();
+    if (snapshot != null) {
+      this.messageKey = snapshot.messageKey();
+    } else {
+      final Message message = this.findMessageAnnotation();
+      this.messageKey = message.value();
+    }
+
+    @Nullable ResolvedReceiverLocator<R> resolvedLocator = snapshot == null
+        ? null
+        : this.resolveReceiverLocator(moonshine, snapshot.receiverLocatorResolverIndex());
+    if (resolvedLocator == null) {
+      resolvedLocator = this.findReceiverLocator(moonshine);
+    }
+    this.receiverLocator = resolvedLocator.locator();
+    this.receiverLocatorResolverIndex = resolvedLocator.resolverIndex();
+    this.exactParameterTypes = Collections.unmodifiableList(Arrays.asList(exactParameterTypes(owner, reflectMethod)));
+    this.returnMode = snapshot == null ? this.findReturnMode() : snapshot.returnMode();
+    this.preparedPlaceholders = prepare(moonshine, this);
+  }
+
+  private static <R, I, F> @Nullable Object prepare(final Moonshine<R, I, ?, F> moonshine,
+      final MoonshineMethod<R> moonshineMethod) {
+    return moonshine.placeholderResolverStrategy().prepare(moonshine, moonshineMethod);
+  }
+
+  private static Type[] exactParameterTypes(final TypeToken<?> owner, final Method reflectMethod) {
+    final Class<?> declaringClass = reflectMethod.getDeclaringClass();
+    if (owner.getType() == declaringClass && declaringClass.getTypeParameters().length == 0) {
+      // Declared by the owner itself, without any type variables of the owner to resolve.
+      return reflectMethod.getGenericParameterTypes();
+    }
 
-    this.receiverLocator = this.findReceiverLocator(moonshine);
+    return GenericTypeReflector.getParameterTypes(reflectMethod, owner.getType());
   }
 
   @Pure
@@ -91,6 +168,47 @@ public final class MoonshineMethod<R> {
     return this.receiverLocator;
   }
 
+  /**
+   * @return the index of the {@link IReceiverLocatorResolver} which resolved the {@link #receiverLocator()}, in
+   * descending order of weight
+   */
+  @Pure
+  public int receiverLocatorResolverIndex() {
+    return this.receiverLocatorResolverIndex;
+  }
+
+  /**
+   * @return an unmodifiable list of the exact types of the parameters of this method, as resolved against the {@link
+   * #owner()}
+   */
+  @Pure
+  public List<Type> exactParameterTypes() {
+    return this.exactParameterTypes;
+  }
+
+  @Pure
+  public ReturnMode returnMode() {
+    return this.returnMode;
+  }
+
+  /**
+   * @return the state {@link IPlaceholderResolverStrategy#prepare(Moonshine, MoonshineMethod) prepared} by the
+   * placeholder resolver strategy to resolve the placeholders of this method, or {@code null} if there is none
+   */
+  @Pure
+  public @Nullable Object preparedPlaceholders() {
+    return this.preparedPlaceholders;
+  }
+
+  private ReturnMode findReturnMode() throws InvalidAsyncMessageException {
+    if (this.reflectMethod.getReturnType() != CompletableFuture.class
+        && this.reflectMethod.isAnnotationPresent(AsyncMessage.class)) {
+      throw new InvalidAsyncMessageException(this.owner.getType(), this.reflectMethod);
+    }
+
+    return ReturnMode.of(this.reflectMethod);
+  }
+
   private Message findMessageAnnotation() throws MissingMessageAnnotationException {
     final @Nullable Message annotation = this.reflectMethod.getAnnotation(Message.class);
     //noinspection ConstantConditions -- this is completely not true. It may be null, per its Javadocs.
@@ -101,22 +219,42 @@ public final class MoonshineMethod<R> {
     return annotation;
   }
 
-  private IReceiverLocator<? extends R> findReceiverLocator(final Moonshine<R, ?, ?, ?> moonshine)
+  private ResolvedReceiverLocator<R> findReceiverLocator(final Moonshine<R, ?, ?, ?> moonshine)
       throws NoReceiverLocatorFoundException {
     final Iterator<Weighted<? extends IReceiverLocatorResolver<? extends R>>> receiverLocatorResolverIterator =
         moonshine.weightedReceiverLocatorResolvers().descendingIterator();
 
-    while (receiverLocatorResolverIterator.hasNext()) {
+    for (int idx = 0; receiverLocatorResolverIterator.hasNext(); ++idx) {
       final IReceiverLocatorResolver<? extends R> receiverLocatorResolver =
           receiverLocatorResolverIterator.next().value();
       final @Nullable IReceiverLocator<? extends R> resolvedLocator =
           receiverLocatorResolver.resolve(this.reflectMethod, this.owner.getType());
 
       if (resolvedLocator != null) {
-        return resolvedLocator;
+        return new ResolvedReceiverLocator<>(resolvedLocator, idx);
       }
     }
 
     throw new NoReceiverLocatorFoundException(this.owner.getType(), this.reflectMethod);
   }
+
+  private @Nullable ResolvedReceiverLocator<R> resolveReceiverLocator(final Moonshine<R, ?, ?, ?> moonshine,
+      final int index) {
+    final Iterator<Weighted<? extends IReceiverLocatorResolver<? extends R>>> receiverLocatorResolverIterator =
+        moonshine.weightedReceiverLocatorResolvers().descendingIterator();
+    for (int idx = 0; receiverLocatorResolverIterator.hasNext(); ++idx) {
+      final IReceiverLocatorResolver<? extends R> receiverLocatorResolver =
+          receiverLocatorResolverIterator.next().value();
+      if (idx == index) {
+        final @Nullable IReceiverLocator<? extends R> resolvedLocator =
+            receiverLocatorResolver.resolve(this.reflectMethod, this.owner.getType());
+        return resolvedLocator == null ? null : new ResolvedReceiverLocator<>(resolvedLocator, idx);
+      }
+    }
+
+    return null;
+  }
+
+  private record ResolvedReceiverLocator<R>(IReceiverLocator<? extends R> locator, int resolverIndex) {
+  }
 }
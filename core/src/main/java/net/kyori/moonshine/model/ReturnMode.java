@@ -0,0 +1,85 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.model;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import net.kyori.moonshine.annotation.AsyncMessage;
+import net.kyori.moonshine.message.IMessageSender;
+
+/**
+ * What a scanned method does with its rendered message, as determined by its {@link Method#getReturnType() return
+ * type}, and whether it is an {@link AsyncMessage}.
+ */
+public enum ReturnMode {
+  /**
+   * The method returns {@code void}; the rendered message is sent with the {@link IMessageSender}.
+   */
+  SEND,
+
+  /**
+   * The method returns the rendered message as-is, without sending it.
+   */
+  RETURN,
+
+  /**
+   * The method is an {@link AsyncMessage} returning a {@code CompletableFuture<Void>}; the rendered message is sent
+   * with the {@link IMessageSender} once its placeholders are resolved, after which the future completes.
+   */
+  SEND_ASYNC,
+
+  /**
+   * The method is an {@link AsyncMessage} returning a {@link CompletableFuture} of the rendered message, completed once
+   * its placeholders are resolved, without sending it.
+   */
+  RETURN_ASYNC;
+
+  /**
+   * Determine the return mode of a method.
+   * <p>
+   * Only methods annotated with {@link AsyncMessage} are asynchronous; any other method returning a {@link
+   * CompletableFuture} returns its rendered message as-is.
+   * </p>
+   *
+   * @param method the method to determine the return mode of
+   * @return the return mode of the method
+   */
+  public static ReturnMode of(final Method method) {
+    final Class<?> returnType = method.getReturnType();
+    if (returnType == void.class) {
+      return SEND;
+    } else if (returnType != CompletableFuture.class || !method.isAnnotationPresent(AsyncMessage.class)) {
+      return RETURN;
+    }
+
+    final Type genericReturnType = method.getGenericReturnType();
+    return genericReturnType instanceof ParameterizedType parameterized
+        && parameterized.getActualTypeArguments()[0] == Void.class
+        ? SEND_ASYNC
+        : RETURN_ASYNC;
+  }
+
+  /**
+   * @return whether the method returns a {@link CompletableFuture} completed once its placeholders are resolved
+   */
+  public boolean isAsynchronous() {
+    return this == SEND_ASYNC || this == RETURN_ASYNC;
+  }
+}
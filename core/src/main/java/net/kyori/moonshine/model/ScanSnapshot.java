@@ -0,0 +1,237 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Pure;
+
+/**
+ * A snapshot of the results of scanning the methods of a type, to skip deriving them again on the next start.
+ * <p>
+ * A snapshot is only used for the type it was taken of, and only if the weights of the receiver locator resolvers have
+ * not changed since it was taken; otherwise, methods are scanned afresh. Within a snapshot, the results of each method
+ * are identified by its erased signature, and validated against the {@link #fingerprint(Method) fingerprint} of its
+ * generic signature and annotations, such that any method added or changed since is scanned afresh.
+ * </p>
+ * <p>
+ * A method with valid results takes its message key and return mode from the snapshot, and only asks the receiver
+ * locator resolver which resolved it before for its receiver locator, rather than every resolver in turn. Everything
+ * else is still derived on every start: validating the results reads the annotations and generic signature of the
+ * method, its exact parameter types are resolved against the scanned type, and the placeholder resolver strategy
+ * {@link net.kyori.moonshine.strategy.IPlaceholderResolverStrategy#prepare(net.kyori.moonshine.Moonshine,
+ * MoonshineMethod) prepares} it as usual. A snapshot thus saves the most where there are many receiver locator
+ * resolvers, or ones expensive to ask.
+ * </p>
+ */
+@ThreadSafe
+public final class ScanSnapshot {
+  private static final int MAGIC = 0x4d4f4f4e; // "MOON"
+  private static final int VERSION = 3;
+  private static final ReturnMode[] RETURN_MODES = ReturnMode.values();
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final String typeName;
+  private final int[] receiverLocatorResolverWeights;
+  private final Map<String, Entry> entries;
+
+  /**
+   * Create a new snapshot.
+   *
+   * @param typeName                       the binary name of the scanned type
+   * @param receiverLocatorResolverWeights the weights of the receiver locator resolvers, in descending order
+   * @param entries                        the scan results of each method, by their {@link #signature(Method)}
+   */
+  public ScanSnapshot(final String typeName, final int[] receiverLocatorResolverWeights,
+      final Map<String, Entry> entries) {
+    this.typeName = typeName;
+    this.receiverLocatorResolverWeights = receiverLocatorResolverWeights.clone();
+    this.entries = Collections.unmodifiableMap(new HashMap<>(entries));
+  }
+
+  /**
+   * Get the signature of a method, as used to identify it within a snapshot.
+   *
+   * @param method the method
+   * @return the signature of the method
+   */
+  public static String signature(final Method method) {
+    return method.getName()
+        + MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+  }
+
+  /**
+   * Get the fingerprint of a method, as used to validate its results within a snapshot. This covers the generic
+   * signature of the method, and the annotations of it and its parameters.
+   *
+   * @param method the method
+   * @return the fingerprint of the method
+   */
+  public static long fingerprint(final Method method) {
+    long fingerprint = fingerprint(FNV_OFFSET_BASIS, method.toGenericString());
+    for (final Annotation annotation : method.getDeclaredAnnotations()) {
+      fingerprint = fingerprint(fingerprint, annotation.toString());
+    }
+    for (final Annotation[] parameterAnnotations : method.getParameterAnnotations()) {
+      // Tell apart which parameter each annotation is on.
+      fingerprint = fingerprint(fingerprint, "|");
+      for (final Annotation annotation : parameterAnnotations) {
+        fingerprint = fingerprint(fingerprint, annotation.toString());
+      }
+    }
+    return fingerprint;
+  }
+
+  private static long fingerprint(final long previous, final String value) {
+    // 64-bit FNV-1a over the characters of the value, each value terminated by a character no value contains.
+    long fingerprint = previous;
+    for (int idx = 0; idx < value.length(); ++idx) {
+      fingerprint = (fingerprint ^ value.charAt(idx)) * FNV_PRIME;
+    }
+    return (fingerprint ^ 0xffff) * FNV_PRIME;
+  }
+
+  /**
+   * Read a snapshot previously {@link #write(OutputStream) written}.
+   *
+   * @param input the stream to read from
+   * @return the snapshot
+   * @throws IOException if the stream cannot be read, or does not contain a snapshot of this version
+   */
+  public static ScanSnapshot read(final InputStream input) throws IOException {
+    final DataInputStream data = new DataInputStream(input);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("not a scan snapshot");
+    }
+    final int version = data.readUnsignedShort();
+    if (version != VERSION) {
+      throw new IOException("unsupported scan snapshot version " + version);
+    }
+
+    final String typeName = data.readUTF();
+    final int[] weights = new int[data.readInt()];
+    for (int idx = 0; idx < weights.length; ++idx) {
+      weights[idx] = data.readInt();
+    }
+    final int entryCount = data.readInt();
+    final Map<String, Entry> entries = new HashMap<>(entryCount * 2);
+    for (int idx = 0; idx < entryCount; ++idx) {
+      final String signature = data.readUTF();
+      final long fingerprint = data.readLong();
+      final String messageKey = data.readUTF();
+      final int receiverLocatorResolverIndex = data.readInt();
+      final int returnMode = data.readUnsignedByte();
+      if (returnMode >= RETURN_MODES.length) {
+        throw new IOException("unknown return mode " + returnMode);
+      }
+      entries.put(signature,
+          new Entry(fingerprint, messageKey, receiverLocatorResolverIndex, RETURN_MODES[returnMode]));
+    }
+
+    return new ScanSnapshot(typeName, weights, entries);
+  }
+
+  /**
+   * Write this snapshot in a compact binary format, to be {@link #read(InputStream) read} later.
+   *
+   * @param output the stream to write to
+   * @throws IOException if the stream cannot be written to
+   */
+  public void write(final OutputStream output) throws IOException {
+    final DataOutputStream data = new DataOutputStream(output);
+    data.writeInt(MAGIC);
+    data.writeShort(VERSION);
+    data.writeUTF(this.typeName);
+    data.writeInt(this.receiverLocatorResolverWeights.length);
+    for (final int weight : this.receiverLocatorResolverWeights) {
+      data.writeInt(weight);
+    }
+    data.writeInt(this.entries.size());
+    for (final Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+      data.writeUTF(entry.getKey());
+      data.writeLong(entry.getValue().fingerprint());
+      data.writeUTF(entry.getValue().messageKey());
+      data.writeInt(entry.getValue().receiverLocatorResolverIndex());
+      data.writeByte(entry.getValue().returnMode().ordinal());
+    }
+    data.flush();
+  }
+
+  /**
+   * Check whether this snapshot may be used for scanning the given type.
+   *
+   * @param type                           the type to scan
+   * @param receiverLocatorResolverWeights the current weights of the receiver locator resolvers, in descending order
+   * @return whether this snapshot is applicable
+   */
+  public boolean matches(final Class<?> type, final int[] receiverLocatorResolverWeights) {
+    return this.typeName.equals(type.getName())
+        && Arrays.equals(this.receiverLocatorResolverWeights, receiverLocatorResolverWeights);
+  }
+
+  /**
+   * Get the scan results of a method.
+   *
+   * @param method the method
+   * @return the scan results, or {@code null} if the method was not scanned, or has changed since
+   */
+  public @Nullable Entry entry(final Method method) {
+    final @Nullable Entry entry = this.entries.get(signature(method));
+    if (entry == null || entry.fingerprint() != fingerprint(method)) {
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * @return the binary name of the scanned type
+   */
+  @Pure
+  public String typeName() {
+    return this.typeName;
+  }
+
+  /**
+   * The scan results of a single method.
+   *
+   * @param fingerprint                  the {@link #fingerprint(Method) fingerprint} of the method when scanned
+   * @param messageKey                   the key of the message of the method
+   * @param receiverLocatorResolverIndex the index of the receiver locator resolver which resolved the receiver locator
+   *                                     of the method, in descending order of weight
+   * @param returnMode                   what the method does with its rendered message
+   */
+  public record Entry(
+      long fingerprint,
+      String messageKey,
+      int receiverLocatorResolverIndex,
+      ReturnMode returnMode) {
+  }
+}
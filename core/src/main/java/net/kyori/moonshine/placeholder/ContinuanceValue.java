@@ -34,10 +34,23 @@ import org.checkerframework.dataflow.qual.SideEffectFree;
 public final class ContinuanceValue<F> extends ResolvingValue<F> {
   private final Type type;
 
-  private ContinuanceValue(final F value, final Type type) {
+  private ContinuanceValue(final F value, final Type type, final boolean validate) {
     super(value);
     this.type = type;
 
+    if (validate) {
+      validateAssignable(value, type);
+    }
+  }
+
+  /**
+   * Ensure a value is assignable to the type it is to be resolved as.
+   *
+   * @param value the value to continue resolving
+   * @param type  the type of the value to resolve it as
+   * @throws IllegalArgumentException if the value is not assignable to the type
+   */
+  public static void validateAssignable(final Object value, final Type type) {
     if (!GenericTypeReflector.erase(type).isAssignableFrom(value.getClass())) {
       throw new IllegalArgumentException("value must be assignable from "
           + type.getTypeName() + "; found " + value.getClass().getName());
@@ -46,17 +59,35 @@ public final class ContinuanceValue<F> extends ResolvingValue<F> {
 
   @SideEffectFree
   public static <F> ContinuanceValue<F> continuanceValue(final F value, final Type type) {
-    return new ContinuanceValue<>(value, type);
+    return new ContinuanceValue<>(value, type, true);
   }
 
   @SideEffectFree
   public static <F> ContinuanceValue<F> continuanceValue(final F value, final AnnotatedType type) {
-    return new ContinuanceValue<>(value, type.getType());
+    return new ContinuanceValue<>(value, type.getType(), true);
   }
 
   @SideEffectFree
   public static <F> ContinuanceValue<F> continuanceValue(final F value, final TypeToken<? extends F> type) {
-    return new ContinuanceValue<>(value, type.getType());
+    return new ContinuanceValue<>(value, type.getType(), true);
+  }
+
+  /**
+   * Create a continuance value without ensuring the value is assignable to its type.
+   * <p>
+   * This is for resolvers which know their values to be assignable by construction, such as when continuing with the
+   * components of a record as their declared types. A value which is not assignable fails in whichever resolver it is
+   * passed on to, rather than here.
+   * </p>
+   *
+   * @param value the value to continue resolving
+   * @param type  the type of the value to resolve it as; the value must be assignable to it
+   * @param <F>   the type of the value
+   * @return the continuance value
+   */
+  @SideEffectFree
+  public static <F> ContinuanceValue<F> uncheckedContinuanceValue(final F value, final Type type) {
+    return new ContinuanceValue<>(value, type, false);
   }
 
   /**
@@ -0,0 +1,84 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import net.kyori.moonshine.annotation.AsyncMessage;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.util.Either;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A resolver for a placeholder of type {@link P} which resolves asynchronously, such as one performing I/O.
+ * <p>
+ * Strategies which resolve placeholders asynchronously, for {@link AsyncMessage} methods, do not block on these
+ * resolvers. Any other strategy, or any other method, blocks the invoking thread on the resolved future.
+ * </p>
+ *
+ * @param <R> the receiver type
+ * @param <P> the input placeholder type, or a supertype thereof
+ * @param <F> the finalised placeholder type
+ */
+@FunctionalInterface
+@ThreadSafe
+public interface IAsyncPlaceholderResolver<R, P, F> extends ISinkPlaceholderResolver<R, P, F> {
+  /**
+   * Resolves a given value into a result, asynchronously.
+   *
+   * @param placeholderName the name of the placeholder that is currently being resolved; two results cannot share name,
+   *                        so this is only applicable as a prefix or for the map keys
+   * @param value           the value of the input placeholder, of type {@link P}
+   * @param receiver        the eventual receiver of the message
+   * @param owner           the owner of the method
+   * @param method          the method called
+   * @param parameters      the parameters passed to the method
+   * @return a future of the resolved placeholder(s), or {@code null} if you wish to pass on the resolving to the next
+   * resolver; the future may also complete with {@code null} to do so. The map must be
+   * {@code { placeholder name => state value }}
+   */
+  @Nullable CompletableFuture<@Nullable Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>>>
+      resolveAsync(final String placeholderName, final P value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters);
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This blocks the calling thread until the {@link #resolveAsync(String, Object, Object, Type, Method, Object[])
+   * asynchronous result} is complete, as is done for every method which is not an {@link AsyncMessage}.
+   * </p>
+   *
+   * @throws CompletionException if the asynchronous result completes exceptionally
+   */
+  @Override
+  default boolean resolve(final String placeholderName, final P value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters, final IPlaceholderSink<? super F> sink) {
+    final var future = this.resolveAsync(placeholderName, value, receiver, owner, method, parameters);
+    final @Nullable Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>> result =
+        future == null ? null : future.join();
+    if (result == null) {
+      return false;
+    }
+
+    ISinkPlaceholderResolver.sinkAll(result, sink);
+    return true;
+  }
+}
@@ -35,8 +35,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 @ThreadSafe
 public interface IPlaceholderResolver<R, P, F> {
   static <R, P> IPlaceholderResolver<R, P, P> identityPlaceholderResolver() {
-    return (placeholderName, value, receiver, owner, method, parameters) ->
-        Map.of(placeholderName, Either.left(ConclusionValue.conclusionValue(value)));
+    return (ISinkPlaceholderResolver<R, P, P>) (placeholderName, value, receiver, owner, method, parameters, sink) -> {
+      sink.conclude(placeholderName, value);
+      return true;
+    };
   }
 
   /**
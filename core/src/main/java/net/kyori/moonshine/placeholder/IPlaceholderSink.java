@@ -0,0 +1,80 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import java.lang.reflect.Type;
+import net.kyori.moonshine.annotation.meta.NotThreadSafe;
+
+/**
+ * A sink for the results of an {@link ISinkPlaceholderResolver}, provided by the strategy resolving placeholders.
+ * <p>
+ * Two results cannot share name; should they, the latter result replaces the former.
+ * </p>
+ *
+ * @param <F> the finalised placeholder type
+ */
+@NotThreadSafe
+public interface IPlaceholderSink<F> {
+  /**
+   * Conclude a placeholder with a finalised value, equivalent to a {@link ConclusionValue}.
+   *
+   * @param placeholderName the name of the resulting placeholder
+   * @param value           the finalised value of the placeholder
+   */
+  void conclude(final String placeholderName, final F value);
+
+  /**
+   * Conclude a placeholder with a finalised number, which is rendered in its {@link Object#toString()} form.
+   * <p>
+   * Sinks which know of numbers record them as such in a {@link ResolvedPlaceholders}, such that renderers may write
+   * them straight into their output from the primitive, without formatting them into a string first. Other sinks
+   * conclude them as any other value.
+   * </p>
+   *
+   * @param placeholderName the name of the resulting placeholder
+   * @param number          the finalised number of the placeholder; an {@link Integer}, {@link Long} or {@link
+   *                        Double}
+   * @throws IllegalArgumentException if the number is of any other type; sinks may leave this unchecked
+   */
+  default void concludeNumber(final String placeholderName, final F number) {
+    this.conclude(placeholderName, number);
+  }
+
+  /**
+   * Continue resolving a placeholder with a yet-to-be-fully-resolved value, equivalent to a {@link ContinuanceValue}.
+   *
+   * @param placeholderName the name of the resulting placeholder
+   * @param value           the value to continue resolving
+   * @param type            the type of the value to resolve it as
+   * @throws IllegalArgumentException if the value is not assignable to the type; sinks may leave this unchecked
+   */
+  void continueWith(final String placeholderName, final Object value, final Type type);
+
+  /**
+   * Continue resolving a placeholder with an existing {@link ContinuanceValue}.
+   * <p>
+   * Continuance values are checked as they are created, if at all, so sinks need not check them again.
+   * </p>
+   *
+   * @param placeholderName  the name of the resulting placeholder
+   * @param continuanceValue the value to continue resolving
+   */
+  default void continueWith(final String placeholderName, final ContinuanceValue<?> continuanceValue) {
+    this.continueWith(placeholderName, continuanceValue.value(), continuanceValue.type());
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.util.Either;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A resolver for a placeholder of type {@link P}, writing its results into a {@link IPlaceholderSink sink} rather than
+ * returning them, such that resolving does not allocate any wrappers for the results.
+ * <p>
+ * Strategies which are not aware of sinks may still use these resolvers as any other {@link IPlaceholderResolver}, in
+ * which case the results are collected into a map.
+ * </p>
+ *
+ * @param <R> the receiver type
+ * @param <P> the input placeholder type, or a supertype thereof
+ * @param <F> the finalised placeholder type
+ */
+@FunctionalInterface
+@ThreadSafe
+public interface ISinkPlaceholderResolver<R, P, F> extends IPlaceholderResolver<R, P, F> {
+  /**
+   * Adapt a resolver into one writing into a sink. Resolvers which already are returned as-is.
+   *
+   * @param resolver the resolver to adapt
+   * @param <R>      the receiver type
+   * @param <P>      the input placeholder type, or a supertype thereof
+   * @param <F>      the finalised placeholder type
+   * @return the adapted resolver
+   */
+  @SuppressWarnings("unchecked") // A resolver of F only ever concludes with subtypes of F.
+  static <R, P, F> ISinkPlaceholderResolver<R, P, F> sinking(final IPlaceholderResolver<R, P, ? extends F> resolver) {
+    if (resolver instanceof ISinkPlaceholderResolver) {
+      return (ISinkPlaceholderResolver<R, P, F>) resolver;
+    }
+
+    return (placeholderName, value, receiver, owner, method, parameters, sink) -> {
+      final var result = resolver.resolve(placeholderName, value, receiver, owner, method, parameters);
+      if (result == null) {
+        return false;
+      }
+
+      sinkAll(result, sink);
+      return true;
+    };
+  }
+
+  /**
+   * Write every result of a {@link IPlaceholderResolver} into a sink.
+   *
+   * @param results the results to write
+   * @param sink    the sink to write into
+   * @param <F>     the finalised placeholder type
+   */
+  static <F> void sinkAll(
+      final Map<String, ? extends Either<? extends ConclusionValue<? extends F>, ContinuanceValue<?>>> results,
+      final IPlaceholderSink<? super F> sink) {
+    results.forEach((resolvedName, resolvedValue) ->
+        resolvedValue.map(conclusionValue -> sink.conclude(resolvedName, conclusionValue.value()),
+            continuanceValue -> sink.continueWith(resolvedName, continuanceValue)));
+  }
+
+  /**
+   * Resolves a given value into results written into the given sink.
+   *
+   * @param placeholderName the name of the placeholder that is currently being resolved; two results cannot share name,
+   *                        so this is only applicable as a prefix or for the result names
+   * @param value           the value of the input placeholder, of type {@link P}
+   * @param receiver        the eventual receiver of the message
+   * @param owner           the owner of the method
+   * @param method          the method called
+   * @param parameters      the parameters passed to the method
+   * @param sink            the sink to write the resolved placeholder(s) into
+   * @return whether the value was resolved; if {@code false}, the resolving is passed on to the next resolver, and
+   * nothing may have been written into the sink
+   */
+  boolean resolve(final String placeholderName, final P value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters, final IPlaceholderSink<? super F> sink);
+
+  @Override
+  default @Nullable Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>> resolve(
+      final String placeholderName, final P value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters) {
+    final Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>> results = new LinkedHashMap<>();
+    final boolean resolved = this.resolve(placeholderName, value, receiver, owner, method, parameters,
+        new IPlaceholderSink<F>() {
+          @Override
+          public void conclude(final String placeholderName, final F value) {
+            results.put(placeholderName, Either.left(ConclusionValue.conclusionValue(value)));
+          }
+
+          @Override
+          public void continueWith(final String placeholderName, final Object value, final Type type) {
+            results.put(placeholderName, Either.right(ContinuanceValue.continuanceValue(value, type)));
+          }
+        });
+    return resolved ? results : null;
+  }
+}
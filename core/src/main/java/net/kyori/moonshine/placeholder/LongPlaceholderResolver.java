@@ -0,0 +1,111 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.function.LongFunction;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A resolver for placeholders of type {@code long}, and its boxed type {@link Long}.
+ * <p>
+ * Placeholder values are always passed to resolvers boxed, as every proxy backend passes the arguments of a method
+ * invocation as an {@code Object[]}; this unboxes them once, such that the resolver may format the primitive directly,
+ * e.g. with {@link Long#toString(long)}, rather than going through {@link Object#toString()}. Register it for {@code
+ * Long.class}.
+ * </p>
+ * <p>
+ * The {@link #decimal()} resolver formats nothing at all: it concludes the value as a {@linkplain
+ * IPlaceholderSink#concludeNumber(String, Object) number}, which renderers aware of {@link ResolvedPlaceholders}
+ * write straight into their output.
+ * </p>
+ *
+ * @param <R> the receiver type
+ * @param <F> the finalised placeholder type
+ */
+@FunctionalInterface
+@ThreadSafe
+public interface LongPlaceholderResolver<R, F> extends ISinkPlaceholderResolver<R, Long, F> {
+  /**
+   * Create a resolver which concludes every value as a {@linkplain IPlaceholderSink#concludeNumber(String, Object)
+   * number}, rendered in its decimal form. Values passed boxed are concluded with the very same box.
+   * <p>
+   * The finalised placeholder type must accept a {@link Long}, e.g. {@link Object} or {@link Number}.
+   * </p>
+   *
+   * @param <R> the receiver type
+   * @return the resolver
+   */
+  static <R> LongPlaceholderResolver<R, Long> decimal() {
+    return new LongPlaceholderResolver<>() {
+      @Override
+      public boolean resolveLong(final String placeholderName, final long value, final R receiver, final Type owner,
+          final Method method, final @Nullable Object[] parameters, final IPlaceholderSink<? super Long> sink) {
+        sink.concludeNumber(placeholderName, value);
+        return true;
+      }
+
+      @Override
+      public boolean resolve(final String placeholderName, final Long value, final R receiver, final Type owner,
+          final Method method, final @Nullable Object[] parameters, final IPlaceholderSink<? super Long> sink) {
+        sink.concludeNumber(placeholderName, value);
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Create a resolver which concludes every value with its formatted form, e.g. with {@code Long::toString}.
+   *
+   * @param formatter the formatter of values
+   * @param <R>       the receiver type
+   * @param <F>       the finalised placeholder type
+   * @return the resolver
+   */
+  static <R, F> LongPlaceholderResolver<R, F> formatting(final LongFunction<? extends F> formatter) {
+    return (placeholderName, value, receiver, owner, method, parameters, sink) -> {
+      sink.conclude(placeholderName, formatter.apply(value));
+      return true;
+    };
+  }
+
+  /**
+   * Resolves a given value into results written into the given sink.
+   *
+   * @param placeholderName the name of the placeholder that is currently being resolved; two results cannot share name,
+   *                        so this is only applicable as a prefix or for the result names
+   * @param value           the value of the input placeholder
+   * @param receiver        the eventual receiver of the message
+   * @param owner           the owner of the method
+   * @param method          the method called
+   * @param parameters      the parameters passed to the method
+   * @param sink            the sink to write the resolved placeholder(s) into
+   * @return whether the value was resolved; if {@code false}, the resolving is passed on to the next resolver, and
+   * nothing may have been written into the sink
+   */
+  boolean resolveLong(final String placeholderName, final long value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters, final IPlaceholderSink<? super F> sink);
+
+  @Override
+  default boolean resolve(final String placeholderName, final Long value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters, final IPlaceholderSink<? super F> sink) {
+    return this.resolveLong(placeholderName, value.longValue(), receiver, owner, method, parameters, sink);
+  }
+}
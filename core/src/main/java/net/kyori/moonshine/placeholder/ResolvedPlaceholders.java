@@ -0,0 +1,148 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import net.kyori.moonshine.annotation.meta.NotThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Pure;
+
+/**
+ * The finalised placeholders of a single invocation, in the order they were concluded in, recording which of them
+ * were concluded as {@linkplain IPlaceholderSink#concludeNumber(String, Object) numbers}.
+ * <p>
+ * Renderers may check {@link #isNumber(Map, String)} to write a number straight into their output from the primitive,
+ * rather than formatting it into a string first; any other renderer sees the numbers as any other value.
+ * </p>
+ * <p>
+ * The map view is unmodifiable; placeholders are only concluded by the strategy resolving them.
+ * </p>
+ *
+ * @param <F> the finalised placeholder type
+ */
+@NotThreadSafe
+public final class ResolvedPlaceholders<F> extends AbstractMap<String, F> {
+  private final Map<String, F> placeholders;
+  private final Map<String, F> view;
+
+  /**
+   * The names of the placeholders concluded as numbers, if any.
+   */
+  private @Nullable Set<String> numberNames;
+
+  /**
+   * @param expectedSize the expected number of placeholders
+   */
+  public ResolvedPlaceholders(final int expectedSize) {
+    this.placeholders = new LinkedHashMap<>(expectedSize);
+    this.view = Collections.unmodifiableMap(this.placeholders);
+  }
+
+  /**
+   * Check whether a placeholder was concluded as a number.
+   *
+   * @param resolvedPlaceholders the placeholders resolved for an invocation
+   * @param placeholderName      the name of the placeholder
+   * @return whether the placeholders are {@link ResolvedPlaceholders} and the placeholder was concluded as a number;
+   * its value is then an {@link Integer}, {@link Long} or {@link Double}
+   */
+  @Pure
+  public static boolean isNumber(final Map<String, ?> resolvedPlaceholders, final String placeholderName) {
+    return resolvedPlaceholders instanceof final ResolvedPlaceholders<?> placeholders
+        && placeholders.isNumber(placeholderName);
+  }
+
+  /**
+   * Conclude a placeholder, replacing any former placeholder of the same name.
+   *
+   * @param placeholderName the name of the placeholder
+   * @param value           the finalised value of the placeholder
+   */
+  public void conclude(final String placeholderName, final F value) {
+    this.placeholders.put(placeholderName, value);
+    if (this.numberNames != null) {
+      this.numberNames.remove(placeholderName);
+    }
+  }
+
+  /**
+   * Conclude a placeholder as a number, replacing any former placeholder of the same name.
+   *
+   * @param placeholderName the name of the placeholder
+   * @param number          the finalised number of the placeholder
+   * @throws IllegalArgumentException if the number is not an {@link Integer}, {@link Long} or {@link Double}
+   */
+  public void concludeNumber(final String placeholderName, final F number) {
+    if (!(number instanceof Integer || number instanceof Long || number instanceof Double)) {
+      throw new IllegalArgumentException("number must be an Integer, Long or Double; found "
+          + number.getClass().getName());
+    }
+
+    this.placeholders.put(placeholderName, number);
+    if (this.numberNames == null) {
+      this.numberNames = new HashSet<>();
+    }
+    this.numberNames.add(placeholderName);
+  }
+
+  /**
+   * Check whether a placeholder was concluded as a number.
+   *
+   * @param placeholderName the name of the placeholder
+   * @return whether the placeholder was concluded as a number
+   */
+  @Pure
+  public boolean isNumber(final String placeholderName) {
+    return this.numberNames != null && this.numberNames.contains(placeholderName);
+  }
+
+  /**
+   * Check whether any placeholder was concluded as a number.
+   *
+   * @return whether any placeholder was concluded as a number
+   */
+  @Pure
+  public boolean hasNumbers() {
+    return this.numberNames != null && !this.numberNames.isEmpty();
+  }
+
+  @Override
+  public @Nullable F get(final Object key) {
+    return this.placeholders.get(key);
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.placeholders.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return this.placeholders.size();
+  }
+
+  @Override
+  public Set<Entry<String, F>> entrySet() {
+    return this.view.entrySet();
+  }
+}
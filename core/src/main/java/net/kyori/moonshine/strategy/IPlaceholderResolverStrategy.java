@@ -18,6 +18,7 @@
 package net.kyori.moonshine.strategy;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import net.kyori.moonshine.Moonshine;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
 import net.kyori.moonshine.exception.PlaceholderResolvingException;
@@ -30,8 +31,32 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 @FunctionalInterface
 @ThreadSafe
 public interface IPlaceholderResolverStrategy<R, I, F> {
+  /**
+   * Prepare to resolve the placeholders of a scanned method, such as by precomputing the resolvers of its placeholders.
+   * <p>
+   * This is called once a method is scanned, before it is first invoked: when the {@link Moonshine} is created, or when
+   * the method is first invoked or validated if scanning is lazy. Whatever is prepared is kept by the method, as its
+   * {@link MoonshineMethod#preparedPlaceholders() prepared placeholders}, for as long as the method itself is kept. By
+   * default, this prepares nothing.
+   * </p>
+   *
+   * @param moonshine       the {@link Moonshine} meta instance for resolvers
+   * @param moonshineMethod the scanned method
+   * @return the prepared state of the method, or {@code null} if there is none
+   */
+  default @Nullable Object prepare(final Moonshine<R, I, ?, F> moonshine,
+      final MoonshineMethod<? extends R> moonshineMethod) {
+    return null;
+  }
+
   /**
    * Resolve all placeholders with the current strategy.
+   * <p>
+   * This is used for every method which is not an {@link net.kyori.moonshine.annotation.AsyncMessage}, and blocks the
+   * invoking thread on any {@link net.kyori.moonshine.placeholder.IAsyncPlaceholderResolver resolver which resolves
+   * asynchronously} until its result is complete; methods whose placeholders may take long to resolve should thus be
+   * {@link net.kyori.moonshine.annotation.AsyncMessage asynchronous}.
+   * </p>
    *
    * @param moonshine        the {@link Moonshine} meta instance for resolvers
    * @param intermediateText the invocation's intermediate text; can be useful to determine if any resolving should be
@@ -44,4 +69,31 @@ public interface IPlaceholderResolverStrategy<R, I, F> {
       final I intermediateText, final MoonshineMethod<? extends R> moonshineMethod,
       final @Nullable Object[] parameters)
       throws PlaceholderResolvingException;
+
+  /**
+   * Resolve all placeholders with the current strategy, without blocking on resolvers which resolve asynchronously.
+   * This is used for every {@link net.kyori.moonshine.annotation.AsyncMessage}.
+   * <p>
+   * By default, this resolves all placeholders {@link #resolvePlaceholders(Moonshine, Object, Object, MoonshineMethod,
+   * Object[]) synchronously}.
+   * </p>
+   *
+   * @param moonshine        the {@link Moonshine} meta instance for resolvers
+   * @param intermediateText the invocation's intermediate text; can be useful to determine if any resolving should be
+   *                         done at all, should text be missing
+   * @param moonshineMethod  the scanned method that was invoked
+   * @param parameters       the parameters in the invocation to this method
+   * @return a future of a map of all resolved placeholders, completed exceptionally with a {@link
+   * PlaceholderResolvingException} if resolving fails
+   */
+  default CompletableFuture<Map<String, ? extends F>> resolvePlaceholdersAsync(final Moonshine<R, I, ?, F> moonshine,
+      final R receiver, final I intermediateText, final MoonshineMethod<? extends R> moonshineMethod,
+      final @Nullable Object[] parameters) {
+    try {
+      return CompletableFuture.completedFuture(
+          this.resolvePlaceholders(moonshine, receiver, intermediateText, moonshineMethod, parameters));
+    } catch (final PlaceholderResolvingException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
 }
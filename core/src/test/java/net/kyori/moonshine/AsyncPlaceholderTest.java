@@ -0,0 +1,143 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.leangen.geantyref.TypeToken;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import net.kyori.moonshine.annotation.AsyncMessage;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.annotation.Placeholder;
+import net.kyori.moonshine.exception.scan.InvalidAsyncMessageException;
+import net.kyori.moonshine.message.StringMessageRenderer;
+import net.kyori.moonshine.model.ReturnMode;
+import net.kyori.moonshine.placeholder.ConclusionValue;
+import net.kyori.moonshine.placeholder.IAsyncPlaceholderResolver;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Either;
+import net.kyori.moonshine.util.Unit;
+import org.junit.jupiter.api.Test;
+
+class AsyncPlaceholderTest {
+  @Test
+  void asyncPlaceholdersResolveConcurrently() throws Exception {
+    final CompletableFuture<String> first = new CompletableFuture<>();
+    final CompletableFuture<String> second = new CompletableFuture<>();
+    final Map<Integer, CompletableFuture<String>> lookups = Map.of(1, first, 2, second);
+    final List<String> sent = new ArrayList<>();
+    final AsyncType type = Moonshine.<AsyncType, List<String>>builder(TypeToken.get(AsyncType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> sent, 1)
+        .sourced((receiver, messageKey) -> "{first} and {second}")
+        .rendered(new StringMessageRenderer<List<String>, String, String, String>("{", "}", s -> s, s -> s,
+            s -> s))
+        .sent(List::add)
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .weightedPlaceholderResolver(Integer.class,
+            (IAsyncPlaceholderResolver<List<String>, Integer, String>) (placeholderName, value, receiver, owner,
+                method, parameters) -> lookups.get(value).thenApply(name ->
+                Map.of(placeholderName, Either.left(ConclusionValue.conclusionValue(name)))),
+            1)
+        .create();
+
+    final CompletableFuture<String> rendered = type.render(1, 2);
+    final CompletableFuture<Void> sending = type.send(1, 2);
+    assertThat(rendered).isNotDone();
+    assertThat(sending).isNotDone();
+
+    // Neither lookup waits on the other.
+    second.complete("Bar");
+    assertThat(rendered).isNotDone();
+    first.complete("Foo");
+
+    assertThat(rendered.get(1, TimeUnit.SECONDS)).isEqualTo("Foo and Bar");
+    sending.get(1, TimeUnit.SECONDS);
+    assertThat(sent).containsExactly("Foo and Bar");
+  }
+
+  @Test
+  void futuresAreOnlyAsynchronousWhenAnnotated() throws Exception {
+    final CompletableFuture<String> renderedFuture = CompletableFuture.completedFuture("rendered");
+    final FutureRenderingType type = Moonshine.<FutureRenderingType, Unit>builder(
+            TypeToken.get(FutureRenderingType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> Unit.UNIT, 1)
+        .sourced((receiver, messageKey) -> messageKey)
+        .<CompletableFuture<String>, Object>rendered((receiver, intermediateMessage, resolvedPlaceholders, method,
+            owner) -> renderedFuture)
+        .sent((receiver, renderedMessage) -> {
+        })
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .create();
+
+    // The renderer renders futures itself, which the method returns as-is rather than a future of.
+    assertThat(type.render()).isSameAs(renderedFuture);
+    assertThat(type.moonshine().scannedMethod(FutureRenderingType.class.getMethod("render")).returnMode())
+        .isEqualTo(ReturnMode.RETURN);
+  }
+
+  @Test
+  void asyncMessageMustReturnFuture() {
+    assertThatThrownBy(() -> Moonshine.<InvalidAsyncType, Unit>builder(TypeToken.get(InvalidAsyncType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> Unit.UNIT, 1)
+        .sourced((receiver, messageKey) -> messageKey)
+        .<String, Object>rendered((receiver, intermediateMessage, resolvedPlaceholders, method, owner) ->
+            intermediateMessage)
+        .sent((receiver, renderedMessage) -> {
+        })
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .create())
+        .isInstanceOf(InvalidAsyncMessageException.class);
+  }
+
+  interface AsyncType {
+    @AsyncMessage
+    @Message("test")
+    CompletableFuture<String> render(@Placeholder("first") final Integer first,
+        @Placeholder("second") final Integer second);
+
+    @AsyncMessage
+    @Message("test")
+    CompletableFuture<Void> send(@Placeholder("first") final Integer first,
+        @Placeholder("second") final Integer second);
+  }
+
+  interface FutureRenderingType {
+    @Message("test")
+    CompletableFuture<String> render();
+
+    Moonshine<Unit, String, CompletableFuture<String>, Object> moonshine();
+  }
+
+  interface InvalidAsyncType {
+    @AsyncMessage
+    @Message("test")
+    String render();
+  }
+}
@@ -21,6 +21,7 @@ import static net.kyori.moonshine.util.Unit.UNIT;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -91,4 +92,37 @@ class DefaultMethodTest {
     verify(sender).send(UNIT, UNIT);
   }
 
+  @Test
+  void defaultMethodOfSeveralProxiesTest() throws Exception {
+    final IMessageSource<Unit, Unit> firstSource = mock(IMessageSource.class);
+    final IMessageSource<Unit, Unit> secondSource = mock(IMessageSource.class);
+    final DefaultMethodTestType first = createWithSource(firstSource);
+    final DefaultMethodTestType second = createWithSource(secondSource);
+
+    first.empty();
+    second.empty();
+    second.withParameter(DefaultMethodTestType.DEFAULT_VALUE);
+
+    verify(firstSource).messageOf(UNIT, DefaultMethodTestType.MESSAGE_KEY);
+    verify(secondSource, times(2)).messageOf(UNIT, DefaultMethodTestType.MESSAGE_KEY);
+  }
+
+  private static DefaultMethodTestType createWithSource(final IMessageSource<Unit, Unit> source) throws Exception {
+    final IMessageRenderer<Unit, Unit, Unit, Unit> renderer = mock(IMessageRenderer.class);
+    when(source.messageOf(any(), any())).thenReturn(UNIT);
+    when(renderer.render(any(), any(), any(), any(), any())).thenReturn(UNIT);
+
+    return Moonshine.<DefaultMethodTestType, Unit>builder(TypeToken.get(DefaultMethodTestType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+        .sourced(source)
+        .rendered(renderer)
+        .sent(mock(IMessageSender.class))
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .weightedPlaceholderResolver(String.class,
+            (placeholderName, value, receiver, owner, method, parameters) -> Map.of(), 1)
+        .create();
+  }
+
 }
@@ -0,0 +1,229 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static net.kyori.moonshine.util.Unit.UNIT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.leangen.geantyref.TypeToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.annotation.Placeholder;
+import net.kyori.moonshine.message.IMessageRenderer;
+import net.kyori.moonshine.message.IMessageSender;
+import net.kyori.moonshine.message.IMessageSource;
+import net.kyori.moonshine.model.ReturnMode;
+import net.kyori.moonshine.model.ScanSnapshot;
+import net.kyori.moonshine.placeholder.IPlaceholderResolver;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Unit;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+class GeneratedProxyBackendTest {
+  @Test
+  void generatedProxyBackend() throws Exception {
+    final IMessageSource<Unit, Unit> source = mock(IMessageSource.class);
+    final IMessageRenderer<Unit, Unit, Unit, Object> renderer = mock(IMessageRenderer.class);
+    final IMessageSender<Unit, Unit> sender = mock(IMessageSender.class);
+    when(source.messageOf(any(), any())).thenReturn(UNIT);
+    when(renderer.render(any(), any(), any(), any(), any())).thenReturn(UNIT);
+
+    final GeneratedType generated =
+        Moonshine.<GeneratedType, Unit>builder(TypeToken.get(GeneratedType.class))
+            .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+            .sourced(source)
+            .rendered(renderer)
+            .sent(sender)
+            .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+                new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+            ))
+            .weightedPlaceholderResolver(String.class, IPlaceholderResolver.identityPlaceholderResolver(), 1)
+            .weightedPlaceholderResolver(Integer.class, IPlaceholderResolver.identityPlaceholderResolver(), 1)
+            .proxyBackend(ProxyBackend.GENERATED)
+            .create();
+
+    assertThat(Proxy.isProxyClass(generated.getClass())).isFalse();
+    assertThat(generated).isInstanceOf(MoonshineProxy.class);
+
+    generated.send("value", 1);
+    generated.defaultSend();
+    assertThat(generated.render()).isEqualTo(UNIT);
+
+    verify(source, times(2)).messageOf(UNIT, "send");
+    verify(source).messageOf(UNIT, "render");
+    verify(sender, times(2)).send(UNIT, UNIT);
+
+    assertThat(generated.moonshine()).isNotNull();
+    assertThat(generated).isEqualTo(generated);
+    assertThat(generated.hashCode()).isEqualTo(generated.moonshine().hashCode());
+  }
+
+  @Test
+  void foreignClassLoaderFallsBackToProxy() throws Exception {
+    final IMessageSource<Unit, Unit> source = mock(IMessageSource.class);
+    final IMessageRenderer<Unit, Unit, Unit, Object> renderer = mock(IMessageRenderer.class);
+    final IMessageSender<Unit, Unit> sender = mock(IMessageSender.class);
+    when(source.messageOf(any(), any())).thenReturn(UNIT);
+    when(renderer.render(any(), any(), any(), any(), any())).thenReturn(UNIT);
+
+    // The foreign class loader neither shares a module with Moonshine nor can load it, so no class can be generated.
+    final ForeignClassLoader loader = new ForeignClassLoader();
+    final Class<Object> foreignType = (Class<Object>) loader.define(ForeignType.class);
+    // Nor can it load @Message, so the message key has to come from a snapshot.
+    final Method send = foreignType.getMethod("send");
+    final ScanSnapshot snapshot = new ScanSnapshot(foreignType.getName(), new int[]{1},
+        Map.of(ScanSnapshot.signature(send), new ScanSnapshot.Entry(ScanSnapshot.fingerprint(send), "send", 0,
+            ReturnMode.SEND)));
+
+    final Object foreign = Moonshine.<Object, Unit>builder(TypeToken.get(foreignType))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+        .sourced(source)
+        .rendered(renderer)
+        .sent(sender)
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .proxyBackend(ProxyBackend.GENERATED)
+        .scanSnapshot(snapshot)
+        .create(loader);
+
+    assertThat(Proxy.isProxyClass(foreign.getClass())).isTrue();
+
+    send.invoke(foreign);
+    verify(source).messageOf(UNIT, "send");
+    verify(sender).send(UNIT, UNIT);
+  }
+
+  @Test
+  void childClassLoaderWithLookup() throws Exception {
+    final IMessageSource<Unit, Unit> source = mock(IMessageSource.class);
+    final IMessageRenderer<Unit, Unit, Unit, Object> renderer = mock(IMessageRenderer.class);
+    final IMessageSender<Unit, Unit> sender = mock(IMessageSender.class);
+    when(source.messageOf(any(), any())).thenReturn(UNIT);
+    when(renderer.render(any(), any(), any(), any(), any())).thenReturn(UNIT);
+
+    // The child class loader can load Moonshine, but is not of its module; a lookup of its own lets us define classes.
+    final ForeignClassLoader loader = new ForeignClassLoader(GeneratedProxyBackendTest.class.getClassLoader());
+    final Class<Object> childType = (Class<Object>) loader.define(ChildType.class);
+    final MethodHandles.Lookup lookup = (MethodHandles.Lookup) loader.define(ChildLookup.class)
+        .getMethod("lookup")
+        .invoke(null);
+
+    final Object child = Moonshine.<Object, Unit>builder(TypeToken.get(childType))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+        .sourced(source)
+        .rendered(renderer)
+        .sent(sender)
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .proxyBackend(ProxyBackend.GENERATED)
+        .proxyLookup(lookup)
+        .create(loader);
+
+    assertThat(child).isInstanceOf(MoonshineProxy.class);
+    assertThat(child.getClass().getClassLoader()).isSameAs(loader);
+
+    childType.getMethod("send").invoke(child);
+    verify(source).messageOf(UNIT, "send");
+    verify(sender).send(UNIT, UNIT);
+  }
+
+  @Test
+  void lookupWithoutFullPrivilegeAccessIsRejected() {
+    final IMessageSource<Unit, Unit> source = mock(IMessageSource.class);
+    final IMessageRenderer<Unit, Unit, Unit, Object> renderer = mock(IMessageRenderer.class);
+    final IMessageSender<Unit, Unit> sender = mock(IMessageSender.class);
+    final MoonshineBuilder.Resolved<GeneratedType, Unit, Unit, Unit, Object> builder =
+        Moonshine.<GeneratedType, Unit>builder(TypeToken.get(GeneratedType.class))
+            .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+            .sourced(source)
+            .rendered(renderer)
+            .sent(sender)
+            .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+                new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+            ));
+
+    assertThatThrownBy(() -> builder.proxyLookup(MethodHandles.publicLookup()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  interface GeneratedType {
+    @Message("send")
+    void send(@Placeholder final String text, @Placeholder final int number);
+
+    @Message("render")
+    Unit render();
+
+    default void defaultSend() {
+      this.send("default", 2);
+    }
+
+    Moonshine<Unit, Unit, Unit, Object> moonshine();
+  }
+
+  public interface ForeignType {
+    @Message("send")
+    void send();
+  }
+
+  public interface ChildType {
+    @Message("send")
+    void send();
+  }
+
+  public static final class ChildLookup {
+    public static MethodHandles.Lookup lookup() {
+      return MethodHandles.lookup();
+    }
+  }
+
+  /**
+   * A class loader defining copies of classes of its own; by default, it only delegates to the platform class loader,
+   * and as such cannot load Moonshine.
+   */
+  private static final class ForeignClassLoader extends ClassLoader {
+    /* package-private */ ForeignClassLoader() {
+      this(ClassLoader.getPlatformClassLoader());
+    }
+
+    /* package-private */ ForeignClassLoader(final ClassLoader parent) {
+      super("foreign", parent);
+    }
+
+    /* package-private */ Class<?> define(final Class<?> type) throws IOException {
+      try (final InputStream stream = type.getResourceAsStream('/' + type.getName().replace('.', '/') + ".class")) {
+        final byte[] bytes = stream.readAllBytes();
+        return this.defineClass(type.getName(), bytes, 0, bytes.length);
+      }
+    }
+  }
+}
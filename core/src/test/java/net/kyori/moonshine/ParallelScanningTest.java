@@ -0,0 +1,134 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static net.kyori.moonshine.util.Unit.UNIT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.leangen.geantyref.TypeToken;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.exception.scan.MissingMessageAnnotationException;
+import net.kyori.moonshine.exception.scan.MultipleUnscannableMethodsException;
+import net.kyori.moonshine.message.IMessageRenderer;
+import net.kyori.moonshine.message.IMessageSender;
+import net.kyori.moonshine.message.IMessageSource;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Unit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+class ParallelScanningTest {
+  private static final String MESSAGE_KEY = "test";
+
+  private final IMessageSource<Unit, Unit> source = mock(IMessageSource.class);
+  private final IMessageRenderer<Unit, Unit, Unit, Unit> renderer = mock(IMessageRenderer.class);
+  private final IMessageSender<Unit, Unit> sender = mock(IMessageSender.class);
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.executor = Executors.newFixedThreadPool(4);
+    when(this.source.messageOf(any(), any())).thenReturn(UNIT);
+    when(this.renderer.render(any(), any(), any(), any(), any())).thenReturn(UNIT);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdown();
+  }
+
+  @Test
+  void parallelScannedMethods() throws Exception {
+    final ScannableType scannable = this.builder(ScannableType.class).create();
+    scannable.first();
+    scannable.second();
+    scannable.third();
+
+    verify(this.source).messageOf(UNIT, MESSAGE_KEY + 1);
+    verify(this.source).messageOf(UNIT, MESSAGE_KEY + 2);
+    verify(this.source).messageOf(UNIT, MESSAGE_KEY + 3);
+  }
+
+  @Test
+  void allFailuresAreReported() {
+    assertThatThrownBy(() -> this.builder(UnscannableType.class).create())
+        .isInstanceOfSatisfying(MultipleUnscannableMethodsException.class, ex -> {
+          assertThat(ex.exceptions())
+              .hasSize(3)
+              .allMatch(MissingMessageAnnotationException.class::isInstance);
+          assertThat(ex.getSuppressed()).hasSize(2);
+        });
+  }
+
+  @Test
+  void singleFailureIsThrownAsIs() {
+    assertThatThrownBy(() -> this.builder(SingleUnscannableType.class).create())
+        .isInstanceOf(MissingMessageAnnotationException.class);
+  }
+
+  private <T> MoonshineBuilder.Resolved<T, Unit, Unit, Unit, Unit> builder(final Class<T> type) {
+    return Moonshine.<T, Unit>builder(TypeToken.get(type))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+        .sourced(this.source)
+        .rendered(this.renderer)
+        .sent(this.sender)
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .parallelScanning(this.executor);
+  }
+
+  interface ScannableType {
+    @Message(MESSAGE_KEY + 1)
+    void first();
+
+    @Message(MESSAGE_KEY + 2)
+    void second();
+
+    @Message(MESSAGE_KEY + 3)
+    void third();
+  }
+
+  interface UnscannableType {
+    @Message(MESSAGE_KEY)
+    void scannable();
+
+    void first();
+
+    void second();
+
+    void third();
+  }
+
+  interface SingleUnscannableType {
+    @Message(MESSAGE_KEY)
+    void scannable();
+
+    void unscannable();
+  }
+}
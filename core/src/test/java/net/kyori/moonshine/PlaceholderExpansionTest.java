@@ -0,0 +1,96 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static net.kyori.moonshine.util.Unit.UNIT;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.leangen.geantyref.TypeToken;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.annotation.Placeholder;
+import net.kyori.moonshine.exception.CyclicPlaceholderException;
+import net.kyori.moonshine.exception.PlaceholderExpansionDepthException;
+import net.kyori.moonshine.message.IMessageRenderer;
+import net.kyori.moonshine.message.IMessageSender;
+import net.kyori.moonshine.message.IMessageSource;
+import net.kyori.moonshine.placeholder.ContinuanceValue;
+import net.kyori.moonshine.placeholder.IPlaceholderResolver;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Either;
+import net.kyori.moonshine.util.Unit;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+class PlaceholderExpansionTest {
+  private static final String MESSAGE_KEY = "test";
+
+  @Test
+  void cyclicExpansionFails() throws Exception {
+    final ExpandingType messages = create(
+        (placeholderName, value, receiver, owner, method, parameters) ->
+            Map.of(placeholderName, Either.right(ContinuanceValue.continuanceValue(value, Integer.class))),
+        StandardPlaceholderResolverStrategy.DEFAULT_MAXIMUM_EXPANSION_DEPTH);
+
+    assertThatThrownBy(() -> messages.method(1))
+        .isInstanceOf(UndeclaredThrowableException.class)
+        .hasCauseInstanceOf(CyclicPlaceholderException.class);
+  }
+
+  @Test
+  void deepExpansionFails() throws Exception {
+    final ExpandingType messages = create(
+        (placeholderName, value, receiver, owner, method, parameters) ->
+            Map.of(placeholderName, Either.right(ContinuanceValue.continuanceValue(value + 1, Integer.class))),
+        4);
+
+    assertThatThrownBy(() -> messages.method(1))
+        .isInstanceOf(UndeclaredThrowableException.class)
+        .hasCauseInstanceOf(PlaceholderExpansionDepthException.class);
+  }
+
+  private static ExpandingType create(final IPlaceholderResolver<Unit, Integer, Unit> resolver,
+      final int maximumExpansionDepth) throws Exception {
+    final IMessageSource<Unit, Unit> source = mock(IMessageSource.class);
+    final IMessageRenderer<Unit, Unit, Unit, Unit> renderer = mock(IMessageRenderer.class);
+    when(source.messageOf(any(), any())).thenReturn(UNIT);
+    when(renderer.render(any(), any(), any(), any(), any())).thenReturn(UNIT);
+
+    return Moonshine.<ExpandingType, Unit>builder(TypeToken.get(ExpandingType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+        .sourced(source)
+        .rendered(renderer)
+        .sent(mock(IMessageSender.class))
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false),
+            maximumExpansionDepth
+        ))
+        .weightedPlaceholderResolver(Integer.class, resolver, 1)
+        .create();
+  }
+
+  interface ExpandingType {
+    @Message(MESSAGE_KEY)
+    void method(@Placeholder final Integer value);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static net.kyori.moonshine.util.Unit.UNIT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.leangen.geantyref.TypeToken;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.util.Map;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.message.IMessageRenderer;
+import net.kyori.moonshine.message.IMessageSender;
+import net.kyori.moonshine.message.IMessageSource;
+import net.kyori.moonshine.model.ReturnMode;
+import net.kyori.moonshine.model.ScanSnapshot;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Unit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+class ScanSnapshotTest {
+  private static final String MESSAGE_KEY = "test";
+
+  @Test
+  void snapshotRoundTrips() throws Exception {
+    final Moonshine<Unit, Unit, Unit, Unit> moonshine = builder(null).create().moonshine();
+    final ScanSnapshot snapshot = moonshine.scanSnapshot();
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    snapshot.write(output);
+    final ScanSnapshot read = ScanSnapshot.read(new ByteArrayInputStream(output.toByteArray()));
+
+    final Method method = SnapshotType.class.getMethod("method");
+    assertThat(read.typeName()).isEqualTo(SnapshotType.class.getName());
+    assertThat(read.entry(method))
+        .isEqualTo(new ScanSnapshot.Entry(ScanSnapshot.fingerprint(method), MESSAGE_KEY, 0, ReturnMode.SEND));
+    assertThat(builder(read).create().moonshine().scannedMethod(method).messageKey()).isEqualTo(MESSAGE_KEY);
+  }
+
+  @Test
+  void matchingSnapshotIsReused() throws Exception {
+    final Method method = SnapshotType.class.getMethod("method");
+    // A key the annotation does not declare proves the snapshot was used over scanning the annotation.
+    final ScanSnapshot snapshot = snapshot(SnapshotType.class.getName(), new int[]{1}, method, "persisted");
+
+    assertThat(builder(snapshot).create().moonshine().scannedMethod(method).messageKey())
+        .isEqualTo("persisted");
+  }
+
+  @Test
+  void changedAnnotationIsRescanned() throws Exception {
+    final Method method = SnapshotType.class.getMethod("method");
+    // The same erased signature, as taken before the annotation was changed to what SnapshotType declares now.
+    final Method changedMethod = ChangedSnapshotType.class.getMethod("method");
+    final ScanSnapshot snapshot = snapshot(SnapshotType.class.getName(), new int[]{1}, changedMethod,
+        ChangedSnapshotType.MESSAGE_KEY);
+
+    assertThat(ScanSnapshot.signature(changedMethod)).isEqualTo(ScanSnapshot.signature(method));
+    assertThat(snapshot.entry(method)).isNull();
+    assertThat(builder(snapshot).create().moonshine().scannedMethod(method).messageKey())
+        .isEqualTo(MESSAGE_KEY);
+  }
+
+  @Test
+  void mismatchingSnapshotIsIgnored() throws Exception {
+    final Method method = SnapshotType.class.getMethod("method");
+
+    final ScanSnapshot otherWeights = snapshot(SnapshotType.class.getName(), new int[]{2}, method, "persisted");
+    assertThat(builder(otherWeights).create().moonshine().scannedMethod(method).messageKey())
+        .isEqualTo(MESSAGE_KEY);
+
+    final ScanSnapshot otherType = snapshot(Object.class.getName(), new int[]{1}, method, "persisted");
+    assertThat(builder(otherType).create().moonshine().scannedMethod(method).messageKey())
+        .isEqualTo(MESSAGE_KEY);
+  }
+
+  private static ScanSnapshot snapshot(final String typeName, final int[] weights, final Method scannedMethod,
+      final String messageKey) {
+    return new ScanSnapshot(typeName, weights, Map.of(ScanSnapshot.signature(scannedMethod),
+        new ScanSnapshot.Entry(ScanSnapshot.fingerprint(scannedMethod), messageKey, 0, ReturnMode.SEND)));
+  }
+
+  private static MoonshineBuilder.Resolved<SnapshotType, Unit, Unit, Unit, Unit> builder(
+      final @Nullable ScanSnapshot snapshot) {
+    return Moonshine.<SnapshotType, Unit>builder(TypeToken.get(SnapshotType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 1)
+        .sourced(mock(IMessageSource.class))
+        .rendered(mock(IMessageRenderer.class))
+        .sent(mock(IMessageSender.class))
+        .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+            new StandardSupertypeThenInterfaceSupertypeStrategy(false)
+        ))
+        .scanSnapshot(snapshot);
+  }
+
+  interface SnapshotType {
+    @Message(MESSAGE_KEY)
+    void method();
+
+    Moonshine<Unit, Unit, Unit, Unit> moonshine();
+  }
+
+  interface ChangedSnapshotType {
+    String MESSAGE_KEY = "changed";
+
+    @Message(MESSAGE_KEY)
+    void method();
+  }
+}
@@ -88,6 +88,23 @@ import org.junit.jupiter.api.Test;
     ).doesNotThrowAnyException();
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void strategyPreparedOnCreate() throws Exception {
+    final IPlaceholderResolverStrategy<Unit, Unit, Unit> strategy = mock(IPlaceholderResolverStrategy.class);
+
+    Moonshine.<SingleEmptyMethodMoonshineType, Unit>builder(TypeToken.get(SingleEmptyMethodMoonshineType.class))
+        .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> UNIT, 2)
+        .sourced((receiver, messageKey) -> UNIT)
+        .rendered((receiver, intermediateMessage, resolvedPlaceholders, method, owner) -> UNIT)
+        .sent((receiver, renderedMessage) -> {
+        })
+        .resolvingWithStrategy(strategy)
+        .create();
+
+    verify(strategy).prepare(any(), any());
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   void singleMethodStringPlaceholders() throws Exception {
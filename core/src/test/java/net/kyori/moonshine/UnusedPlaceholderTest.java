@@ -0,0 +1,87 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.leangen.geantyref.TypeToken;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.moonshine.annotation.Message;
+import net.kyori.moonshine.annotation.Placeholder;
+import net.kyori.moonshine.message.StringMessageRenderer;
+import net.kyori.moonshine.placeholder.ConclusionValue;
+import net.kyori.moonshine.placeholder.ContinuanceValue;
+import net.kyori.moonshine.placeholder.IPlaceholderResolver;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Either;
+import org.junit.jupiter.api.Test;
+
+class UnusedPlaceholderTest {
+  @Test
+  void unusedPlaceholdersAreNotResolved() throws Exception {
+    final AtomicInteger expansions = new AtomicInteger();
+    final Map<String, String> messages = Map.of(
+        "used", "{name} has {stats_kills} kills",
+        "unused", "Hello, {name}!");
+    final UnusedPlaceholderType type =
+        Moonshine.<UnusedPlaceholderType, List<String>>builder(TypeToken.get(UnusedPlaceholderType.class))
+            .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> new ArrayList<>(), 1)
+            .sourced((receiver, messageKey) -> messages.get(messageKey))
+            .rendered(new StringMessageRenderer<List<String>, String, String, String>("{", "}", s -> s, s -> s,
+                s -> s))
+            .sent(List::add)
+            .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+                new StandardSupertypeThenInterfaceSupertypeStrategy(false),
+                StandardPlaceholderResolverStrategy.DEFAULT_MAXIMUM_EXPANSION_DEPTH,
+                true
+            ))
+            .weightedPlaceholderResolver(String.class, IPlaceholderResolver.identityPlaceholderResolver(), 1)
+            .weightedPlaceholderResolver(Stats.class,
+                (placeholderName, value, receiver, owner, method, parameters) -> {
+                  expansions.incrementAndGet();
+                  return Map.of(placeholderName + "_kills",
+                      Either.right(ContinuanceValue.continuanceValue(value.kills(), Integer.class)));
+                }, 1)
+            .weightedPlaceholderResolver(Integer.class,
+                (placeholderName, value, receiver, owner, method, parameters) ->
+                    Map.of(placeholderName, Either.left(ConclusionValue.conclusionValue(String.valueOf(value)))),
+                1)
+            .create();
+
+    assertThat(type.used("Kyori", new Stats(3))).isEqualTo("Kyori has 3 kills");
+    assertThat(expansions).hasValue(1);
+
+    assertThat(type.unused("Kyori", new Stats(3))).isEqualTo("Hello, Kyori!");
+    assertThat(expansions).hasValue(1);
+  }
+
+  interface UnusedPlaceholderType {
+    @Message("used")
+    String used(@Placeholder("name") final String name, @Placeholder("stats") final Stats stats);
+
+    @Message("unused")
+    String unused(@Placeholder("name") final String name, @Placeholder("stats") final Stats stats);
+  }
+
+  record Stats(int kills) {
+  }
+}
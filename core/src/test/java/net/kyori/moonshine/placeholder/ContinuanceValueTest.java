@@ -0,0 +1,39 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ContinuanceValueTest {
+  @Test
+  void unassignableValueIsRejected() {
+    assertThatThrownBy(() -> ContinuanceValue.continuanceValue("value", Integer.class))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void uncheckedValueIsNotValidated() {
+    final ContinuanceValue<String> continuanceValue = ContinuanceValue.uncheckedContinuanceValue("value",
+        Integer.class);
+    assertThat(continuanceValue.value()).isEqualTo("value");
+    assertThat(continuanceValue.type()).isEqualTo(Integer.class);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.kyori.moonshine.util.Either;
+import org.junit.jupiter.api.Test;
+
+class ISinkPlaceholderResolverTest {
+  private static final Object[] PARAMETERS = new Object[0];
+
+  @Test
+  void sinkResolverAsMap() throws Exception {
+    final IPlaceholderResolver<Object, String, String> resolver = IPlaceholderResolver.identityPlaceholderResolver();
+    final Method method = Object.class.getMethod("toString");
+
+    final var results = resolver.resolve("name", "value", new Object(), Object.class, method, PARAMETERS);
+    assertThat(results).containsOnlyKeys("name");
+    assertThat(results.get("name").leftRaw().value()).isEqualTo("value");
+  }
+
+  @Test
+  void mapResolverIntoSink() throws Exception {
+    final IPlaceholderResolver<Object, Integer, String> resolver =
+        (placeholderName, value, receiver, owner, method, parameters) -> {
+          if (value < 0) {
+            return null;
+          }
+
+          final Map<String, Either<ConclusionValue<? extends String>, ContinuanceValue<?>>> results =
+              new LinkedHashMap<>();
+          results.put(placeholderName, Either.left(ConclusionValue.conclusionValue(String.valueOf(value))));
+          results.put(placeholderName + "_next", Either.right(ContinuanceValue.continuanceValue(value + 1,
+              Integer.class)));
+          return results;
+        };
+    final ISinkPlaceholderResolver<Object, Integer, String> sinking = ISinkPlaceholderResolver.sinking(resolver);
+    final Method method = Object.class.getMethod("toString");
+    final Map<String, Object> sunk = new LinkedHashMap<>();
+    final IPlaceholderSink<String> sink = new IPlaceholderSink<>() {
+      @Override
+      public void conclude(final String placeholderName, final String value) {
+        sunk.put(placeholderName, value);
+      }
+
+      @Override
+      public void continueWith(final String placeholderName, final Object value, final Type type) {
+        sunk.put(placeholderName, value);
+      }
+    };
+
+    assertThat(sinking.resolve("name", -1, new Object(), Object.class, method, PARAMETERS, sink)).isFalse();
+    assertThat(sunk).isEmpty();
+    assertThat(sinking.resolve("name", 1, new Object(), Object.class, method, PARAMETERS, sink)).isTrue();
+    assertThat(sunk).containsExactly(Map.entry("name", "1"), Map.entry("name_next", 2));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PrimitivePlaceholderResolverTest {
+  private static final Object[] PARAMETERS = new Object[0];
+
+  @Test
+  void primitivesAreFormattedUnboxed() throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final Map<String, String> sunk = new LinkedHashMap<>();
+    final IPlaceholderSink<String> sink = new IPlaceholderSink<>() {
+      @Override
+      public void conclude(final String placeholderName, final String value) {
+        sunk.put(placeholderName, value);
+      }
+
+      @Override
+      public void continueWith(final String placeholderName, final Object value, final Type type) {
+        throw new AssertionError("unexpected continuance of " + placeholderName);
+      }
+    };
+
+    IntPlaceholderResolver.<Object, String>formatting(Integer::toString)
+        .resolve("int", 1, new Object(), Object.class, method, PARAMETERS, sink);
+    LongPlaceholderResolver.<Object, String>formatting(Long::toString)
+        .resolve("long", 2L, new Object(), Object.class, method, PARAMETERS, sink);
+    DoublePlaceholderResolver.<Object, String>formatting(Double::toString)
+        .resolve("double", 3.5, new Object(), Object.class, method, PARAMETERS, sink);
+
+    assertThat(sunk).containsExactly(Map.entry("int", "1"), Map.entry("long", "2"), Map.entry("double", "3.5"));
+  }
+
+  @Test
+  void decimalsAreConcludedAsNumbers() throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final ResolvedPlaceholders<Object> resolved = new ResolvedPlaceholders<>(3);
+    final IPlaceholderSink<Object> sink = new IPlaceholderSink<>() {
+      @Override
+      public void conclude(final String placeholderName, final Object value) {
+        resolved.conclude(placeholderName, value);
+      }
+
+      @Override
+      public void concludeNumber(final String placeholderName, final Object number) {
+        resolved.concludeNumber(placeholderName, number);
+      }
+
+      @Override
+      public void continueWith(final String placeholderName, final Object value, final Type type) {
+        throw new AssertionError("unexpected continuance of " + placeholderName);
+      }
+    };
+    final Integer boxed = 1000;
+
+    IntPlaceholderResolver.decimal()
+        .resolve("int", boxed, new Object(), Object.class, method, PARAMETERS, sink);
+    LongPlaceholderResolver.decimal()
+        .resolve("long", 2L, new Object(), Object.class, method, PARAMETERS, sink);
+    DoublePlaceholderResolver.decimal()
+        .resolve("double", 3.5, new Object(), Object.class, method, PARAMETERS, sink);
+
+    assertThat(resolved).containsExactly(Map.entry("int", 1000), Map.entry("long", 2L), Map.entry("double", 3.5));
+    assertThat(resolved.get("int")).isSameAs(boxed);
+    assertThat(ResolvedPlaceholders.isNumber(resolved, "int")).isTrue();
+    assertThat(ResolvedPlaceholders.isNumber(resolved, "long")).isTrue();
+    assertThat(ResolvedPlaceholders.isNumber(resolved, "double")).isTrue();
+  }
+
+  @Test
+  void onlyNumbersAreConcludedAsNumbers() {
+    final ResolvedPlaceholders<Object> resolved = new ResolvedPlaceholders<>(2);
+    resolved.concludeNumber("replaced", 1);
+    resolved.conclude("replaced", "one");
+
+    assertThat(resolved.isNumber("replaced")).isFalse();
+    assertThat(ResolvedPlaceholders.isNumber(Map.of("number", 1), "number")).isFalse();
+    assertThatThrownBy(() -> resolved.concludeNumber("text", "1"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,495 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal writer of class files.
+ * <p>
+ * This only supports what is required to spin simple classes: no fields, and methods with straight-line code (i.e. no
+ * branches), as that avoids the need for stack map frames altogether.
+ * </p>
+ */
+public final class ClassFileWriter {
+  public static final int ACC_PUBLIC = 0x0001;
+  public static final int ACC_FINAL = 0x0010;
+  public static final int ACC_SUPER = 0x0020;
+  public static final int ACC_INTERFACE = 0x0200;
+  public static final int ACC_ABSTRACT = 0x0400;
+  public static final int ACC_SYNTHETIC = 0x1000;
+
+  private static final int ILOAD = 0x15;
+  private static final int LLOAD = 0x16;
+  private static final int FLOAD = 0x17;
+  private static final int DLOAD = 0x18;
+  private static final int ALOAD = 0x19;
+
+  private static final int MAGIC = 0xCAFEBABE;
+  private static final int JAVA_17_VERSION = 61;
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+  private final DataOutputStream constantPool = new DataOutputStream(this.constantPoolBytes);
+  private final Map<String, Integer> constantPoolEntries = new HashMap<>();
+  private int constantPoolCount = 1;
+
+  private final int access;
+  private final int thisClass;
+  private final int superClass;
+  private final int[] interfaces;
+  private final List<byte[]> methods = new ArrayList<>();
+
+  /**
+   * @param access        the access flags of the class
+   * @param internalName  the internal name of the class, e.g. {@code a/b/C}
+   * @param superName     the internal name of the superclass
+   * @param interfaceNames the internal names of all directly implemented interfaces
+   */
+  public ClassFileWriter(final int access, final String internalName, final String superName,
+      final String... interfaceNames) {
+    this.access = access;
+    this.thisClass = this.classConstant(internalName);
+    this.superClass = this.classConstant(superName);
+    this.interfaces = new int[interfaceNames.length];
+    for (int idx = 0; idx < interfaceNames.length; ++idx) {
+      this.interfaces[idx] = this.classConstant(interfaceNames[idx]);
+    }
+  }
+
+  /**
+   * Get the internal name of a class, as used in class files.
+   *
+   * @param type the class to get the internal name of
+   * @return the internal name
+   */
+  public static String internalName(final Class<?> type) {
+    return type.getName().replace('.', '/');
+  }
+
+  /**
+   * Declare an abstract method without any code.
+   *
+   * @param access     the access flags of the method
+   * @param name       the name of the method
+   * @param descriptor the method descriptor
+   */
+  public void abstractMethod(final int access, final String name, final String descriptor) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeShort(access | ACC_ABSTRACT);
+      out.writeShort(this.utf8Constant(name));
+      out.writeShort(this.utf8Constant(descriptor));
+      out.writeShort(0); // attributes_count
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    this.methods.add(bytes.toByteArray());
+  }
+
+  /**
+   * Declare a method with code. The method is only written once {@link Code#end()} is called.
+   *
+   * @param access     the access flags of the method
+   * @param name       the name of the method
+   * @param descriptor the method descriptor
+   * @return a builder for the method's code
+   */
+  public Code method(final int access, final String name, final String descriptor) {
+    return new Code(access, name, descriptor);
+  }
+
+  /**
+   * @return the finished class file
+   */
+  public byte[] toByteArray() {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeShort(0);
+      out.writeShort(JAVA_17_VERSION);
+      out.writeShort(this.constantPoolCount);
+      this.constantPoolBytes.writeTo(out);
+      out.writeShort(this.access);
+      out.writeShort(this.thisClass);
+      out.writeShort(this.superClass);
+      out.writeShort(this.interfaces.length);
+      for (final int iface : this.interfaces) {
+        out.writeShort(iface);
+      }
+      out.writeShort(0); // fields_count
+      out.writeShort(this.methods.size());
+      for (final byte[] method : this.methods) {
+        out.write(method);
+      }
+      out.writeShort(0); // attributes_count
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return bytes.toByteArray();
+  }
+
+  private int utf8Constant(final String value) {
+    final Integer existing = this.constantPoolEntries.get("U" + value);
+    if (existing != null) {
+      return existing;
+    }
+
+    try {
+      this.constantPool.writeByte(CONSTANT_UTF8);
+      this.constantPool.writeUTF(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return this.register("U" + value);
+  }
+
+  private int integerConstant(final int value) {
+    final Integer existing = this.constantPoolEntries.get("I" + value);
+    if (existing != null) {
+      return existing;
+    }
+
+    try {
+      this.constantPool.writeByte(CONSTANT_INTEGER);
+      this.constantPool.writeInt(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return this.register("I" + value);
+  }
+
+  private int classConstant(final String internalName) {
+    final Integer existing = this.constantPoolEntries.get("C" + internalName);
+    if (existing != null) {
+      return existing;
+    }
+
+    final int name = this.utf8Constant(internalName);
+    try {
+      this.constantPool.writeByte(CONSTANT_CLASS);
+      this.constantPool.writeShort(name);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return this.register("C" + internalName);
+  }
+
+  private int methodConstant(final String owner, final String name, final String descriptor) {
+    final String key = "M" + owner + '.' + name + descriptor;
+    final Integer existing = this.constantPoolEntries.get(key);
+    if (existing != null) {
+      return existing;
+    }
+
+    final int ownerIndex = this.classConstant(owner);
+    final int nameIndex = this.utf8Constant(name);
+    final int descriptorIndex = this.utf8Constant(descriptor);
+    final Integer existingNameAndType = this.constantPoolEntries.get("N" + name + descriptor);
+    final int nameAndType;
+    try {
+      if (existingNameAndType == null) {
+        this.constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+        this.constantPool.writeShort(nameIndex);
+        this.constantPool.writeShort(descriptorIndex);
+        nameAndType = this.register("N" + name + descriptor);
+      } else {
+        nameAndType = existingNameAndType;
+      }
+
+      this.constantPool.writeByte(CONSTANT_METHODREF);
+      this.constantPool.writeShort(ownerIndex);
+      this.constantPool.writeShort(nameAndType);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return this.register(key);
+  }
+
+  private int register(final String key) {
+    final int index = this.constantPoolCount++;
+    this.constantPoolEntries.put(key, index);
+    return index;
+  }
+
+  /**
+   * Count the amount of local variable slots a descriptor's parameters take up.
+   *
+   * @param descriptor the method descriptor
+   * @return the amount of slots used by the parameters
+   */
+  private static int parameterSlots(final String descriptor) {
+    int slots = 0;
+    int idx = 1; // skip '('
+    while (descriptor.charAt(idx) != ')') {
+      final char c = descriptor.charAt(idx);
+      if (c == 'J' || c == 'D') {
+        slots += 2;
+      } else {
+        ++slots;
+      }
+
+      while (descriptor.charAt(idx) == '[') {
+        ++idx;
+      }
+      if (descriptor.charAt(idx) == 'L') {
+        idx = descriptor.indexOf(';', idx);
+      }
+      ++idx;
+    }
+
+    return slots;
+  }
+
+  private static int returnSlots(final String descriptor) {
+    return switch (descriptor.charAt(descriptor.indexOf(')') + 1)) {
+      case 'V' -> 0;
+      case 'J', 'D' -> 2;
+      default -> 1;
+    };
+  }
+
+  private static Class<?> wrapperOf(final Class<?> primitive) {
+    return switch (primitive.getName()) {
+      case "boolean" -> Boolean.class;
+      case "byte" -> Byte.class;
+      case "char" -> Character.class;
+      case "short" -> Short.class;
+      case "int" -> Integer.class;
+      case "long" -> Long.class;
+      case "float" -> Float.class;
+      case "double" -> Double.class;
+      default -> throw new IllegalArgumentException("not a primitive type: " + primitive);
+    };
+  }
+
+  /**
+   * A builder for straight-line method code. The maximum stack size is tracked automatically.
+   */
+  public final class Code {
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final int access;
+    private final int name;
+    private final int descriptor;
+    private final int maxLocals;
+    private int stack = 0;
+    private int maxStack = 0;
+
+    private Code(final int access, final String name, final String descriptor) {
+      this.access = access;
+      this.name = ClassFileWriter.this.utf8Constant(name);
+      this.descriptor = ClassFileWriter.this.utf8Constant(descriptor);
+      this.maxLocals = parameterSlots(descriptor) + 1; // + this
+    }
+
+    /**
+     * Load a local variable of the given type onto the stack.
+     *
+     * @param type the type of the local variable
+     * @param slot the slot of the local variable
+     * @return the amount of slots the local variable uses
+     */
+    public int load(final Class<?> type, final int slot) {
+      final int opcode;
+      final int size;
+      if (!type.isPrimitive()) {
+        opcode = ALOAD;
+        size = 1;
+      } else if (type == long.class) {
+        opcode = LLOAD;
+        size = 2;
+      } else if (type == double.class) {
+        opcode = DLOAD;
+        size = 2;
+      } else if (type == float.class) {
+        opcode = FLOAD;
+        size = 1;
+      } else {
+        opcode = ILOAD;
+        size = 1;
+      }
+
+      this.op(opcode, size);
+      this.code.write(slot);
+      return size;
+    }
+
+    public Code pushInt(final int value) {
+      if (value >= -1 && value <= 5) {
+        this.op(0x03 + value, 1); // iconst_<n>
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        this.op(0x10, 1); // bipush
+        this.code.write(value);
+      } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+        this.op(0x11, 1); // sipush
+        this.u2(value);
+      } else {
+        this.op(0x13, 1); // ldc_w
+        this.u2(ClassFileWriter.this.integerConstant(value));
+      }
+      return this;
+    }
+
+    public Code pushNull() {
+      this.op(0x01, 1); // aconst_null
+      return this;
+    }
+
+    public Code newObjectArray(final String componentInternalName) {
+      this.op(0xBD, 0); // anewarray: count -> arrayref
+      this.u2(ClassFileWriter.this.classConstant(componentInternalName));
+      return this;
+    }
+
+    public Code dup() {
+      this.op(0x59, 1);
+      return this;
+    }
+
+    public Code pop() {
+      this.op(0x57, -1);
+      return this;
+    }
+
+    public Code storeObjectInArray() {
+      this.op(0x53, -3); // aastore
+      return this;
+    }
+
+    public Code checkCast(final String internalName) {
+      this.op(0xC0, 0);
+      this.u2(ClassFileWriter.this.classConstant(internalName));
+      return this;
+    }
+
+    public Code invokeSpecial(final String owner, final String name, final String descriptor) {
+      return this.invoke(0xB7, owner, name, descriptor, true);
+    }
+
+    public Code invokeVirtual(final String owner, final String name, final String descriptor) {
+      return this.invoke(0xB6, owner, name, descriptor, true);
+    }
+
+    public Code invokeStatic(final String owner, final String name, final String descriptor) {
+      return this.invoke(0xB8, owner, name, descriptor, false);
+    }
+
+    /**
+     * Box the primitive value on top of the stack, e.g. {@code int} into {@link Integer}.
+     *
+     * @param primitive the primitive type on top of the stack
+     * @return this builder
+     */
+    public Code box(final Class<?> primitive) {
+      final Class<?> wrapper = wrapperOf(primitive);
+      return this.invokeStatic(internalName(wrapper), "valueOf",
+          '(' + primitive.descriptorString() + ')' + wrapper.descriptorString());
+    }
+
+    /**
+     * Unbox the wrapper object on top of the stack into the given primitive type.
+     *
+     * @param primitive the primitive type to unbox into
+     * @return this builder
+     */
+    public Code unbox(final Class<?> primitive) {
+      final String wrapper = internalName(wrapperOf(primitive));
+      return this.checkCast(wrapper)
+          .invokeVirtual(wrapper, primitive.getName() + "Value", "()" + primitive.descriptorString());
+    }
+
+    /**
+     * Return the value on top of the stack, or nothing at all for {@code void}.
+     *
+     * @param type the return type of the method
+     * @return this builder
+     */
+    public Code returnValue(final Class<?> type) {
+      if (type == void.class) {
+        this.op(0xB1, 0);
+      } else if (!type.isPrimitive()) {
+        this.op(0xB0, -1);
+      } else if (type == long.class) {
+        this.op(0xAD, -2);
+      } else if (type == double.class) {
+        this.op(0xAF, -2);
+      } else if (type == float.class) {
+        this.op(0xAE, -1);
+      } else {
+        this.op(0xAC, -1);
+      }
+      return this;
+    }
+
+    /**
+     * Finish this method, adding it to the class.
+     */
+    public void end() {
+      final byte[] instructions = this.code.toByteArray();
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (final DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeShort(this.access);
+        out.writeShort(this.name);
+        out.writeShort(this.descriptor);
+        out.writeShort(1); // attributes_count
+        out.writeShort(ClassFileWriter.this.utf8Constant("Code"));
+        out.writeInt(12 + instructions.length);
+        out.writeShort(this.maxStack);
+        out.writeShort(this.maxLocals);
+        out.writeInt(instructions.length);
+        out.write(instructions);
+        out.writeShort(0); // exception_table_length
+        out.writeShort(0); // attributes_count
+      } catch (final IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      ClassFileWriter.this.methods.add(bytes.toByteArray());
+    }
+
+    private Code invoke(final int opcode, final String owner, final String name, final String descriptor,
+        final boolean hasReceiver) {
+      final int delta = returnSlots(descriptor) - parameterSlots(descriptor) - (hasReceiver ? 1 : 0);
+      this.op(opcode, delta);
+      this.u2(ClassFileWriter.this.methodConstant(owner, name, descriptor));
+      return this;
+    }
+
+    private void op(final int opcode, final int stackDelta) {
+      this.code.write(opcode);
+      this.stack += stackDelta;
+      this.maxStack = Math.max(this.maxStack, this.stack);
+    }
+
+    private void u2(final int value) {
+      this.code.write(value >>> 8);
+      this.code.write(value);
+    }
+  }
+}
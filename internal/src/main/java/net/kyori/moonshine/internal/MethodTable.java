@@ -0,0 +1,179 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.internal;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A table of dense ordinals for a fixed set of methods, looked up by identity rather than by {@link Method#hashCode()}
+ * and {@link Method#equals(Object)}.
+ * <p>
+ * {@link Class#getMethods()} returns new copies of its methods on every call, such that the instances a {@link
+ * java.lang.reflect.Proxy} invokes with are rarely the instances the table was built from. Such instances are looked
+ * up by equality once, then learnt by the table; a proxy class holds on to its method instances for its lifetime, so
+ * every later lookup of them is a single identity probe.
+ * </p>
+ */
+public final class MethodTable {
+  /**
+   * How many method instances may be learnt per method the table was built from, before lookups of further instances
+   * are left to fall back to equality.
+   */
+  private static final int LEARNT_INSTANCES_PER_METHOD = 4;
+
+  /**
+   * The ordinals of each method, by equality. This is only consulted for method instances the table has not learnt,
+   * and is never modified once built.
+   */
+  private final Map<Method, Integer> ordinalsByEquality;
+
+  /**
+   * The maximum amount of method instances in {@link #probes}.
+   */
+  private final int maximumInstances;
+
+  /**
+   * The identity probe table, replaced wholesale whenever a method instance is learnt.
+   */
+  private volatile Probes probes;
+
+  /**
+   * Create a new table of the given methods, assigning each their index as their ordinal.
+   *
+   * @param methods the methods of the table; these must be distinct
+   */
+  public MethodTable(final Method[] methods) {
+    final Map<Method, Integer> ordinalsByEquality = new HashMap<>(methods.length * 2);
+    for (int ordinal = 0; ordinal < methods.length; ++ordinal) {
+      if (ordinalsByEquality.put(methods[ordinal], ordinal) != null) {
+        throw new IllegalArgumentException("duplicate method " + methods[ordinal]);
+      }
+    }
+
+    this.ordinalsByEquality = ordinalsByEquality;
+    this.maximumInstances = Math.max(methods.length, 1) * LEARNT_INSTANCES_PER_METHOD;
+    this.probes = Probes.of(methods);
+  }
+
+  /**
+   * Find the ordinal of the given method.
+   *
+   * @param method the method to find the ordinal of
+   * @return the ordinal of the method, or {@code -1} if it is not in this table
+   */
+  public int ordinal(final Method method) {
+    final Probes probes = this.probes;
+    final int learnt = probes.find(method);
+    if (learnt >= 0) {
+      return learnt;
+    }
+
+    // The map is never modified once built, so may be read without any lock.
+    final @Nullable Integer ordinal = this.ordinalsByEquality.get(method);
+    if (ordinal == null) {
+      return -1;
+    }
+    if (probes.size < this.maximumInstances) {
+      this.learn(method, ordinal);
+    }
+    return ordinal;
+  }
+
+  private synchronized void learn(final Method method, final int ordinal) {
+    final Probes probes = this.probes;
+    if (probes.size >= this.maximumInstances || probes.find(method) >= 0) {
+      // Another thread filled the table, or learnt this instance, while we were waiting.
+      return;
+    }
+
+    this.probes = probes.with(method, ordinal);
+  }
+
+  /**
+   * An immutable open-addressing table from method instances to their ordinals, probed linearly.
+   */
+  private static final class Probes {
+    private final Method[] keys;
+    private final int[] ordinals;
+    private final int mask;
+    private final int size;
+
+    private Probes(final int capacity, final int size) {
+      this.keys = new Method[capacity];
+      this.ordinals = new int[capacity];
+      this.mask = capacity - 1;
+      this.size = size;
+    }
+
+    /* package-private */ static Probes of(final Method[] methods) {
+      final Probes probes = new Probes(capacityFor(methods.length), methods.length);
+      for (int ordinal = 0; ordinal < methods.length; ++ordinal) {
+        probes.insert(methods[ordinal], ordinal);
+      }
+      return probes;
+    }
+
+    /* package-private */ int find(final Method method) {
+      int slot = hash(method) & this.mask;
+      while (true) {
+        final @Nullable Method key = this.keys[slot];
+        if (key == method) {
+          return this.ordinals[slot];
+        } else if (key == null) {
+          return -1;
+        }
+        slot = (slot + 1) & this.mask;
+      }
+    }
+
+    /* package-private */ Probes with(final Method method, final int ordinal) {
+      final Probes probes = new Probes(capacityFor(this.size + 1), this.size + 1);
+      for (int slot = 0; slot < this.keys.length; ++slot) {
+        final @Nullable Method key = this.keys[slot];
+        if (key != null) {
+          probes.insert(key, this.ordinals[slot]);
+        }
+      }
+      probes.insert(method, ordinal);
+      return probes;
+    }
+
+    private void insert(final Method method, final int ordinal) {
+      int slot = hash(method) & this.mask;
+      while (this.keys[slot] != null) {
+        slot = (slot + 1) & this.mask;
+      }
+      this.keys[slot] = method;
+      this.ordinals[slot] = ordinal;
+    }
+
+    private static int hash(final Method method) {
+      // Identity hash codes are not necessarily well spread in their lower bits.
+      final int hash = System.identityHashCode(method);
+      return hash ^ (hash >>> 16);
+    }
+
+    private static int capacityFor(final int size) {
+      // Keep the table at most half full, so probe sequences stay short.
+      return Integer.highestOneBit(Math.max(size, 1) * 4 - 1);
+    }
+  }
+}
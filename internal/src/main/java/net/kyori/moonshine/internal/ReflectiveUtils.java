@@ -25,46 +25,42 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.Arrays;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * Utilities for handling reflective operations.
  */
 public final class ReflectiveUtils {
-  private static final ConcurrentMap<Method, MethodHandle> METHOD_CACHE = new ConcurrentHashMap<>();
-
   private ReflectiveUtils() {
   }
 
   /**
-   * Find a single {@code default} method for the given interfaces of a {@link java.lang.reflect.Proxy proxy}.
+   * Find a single {@code default} method of an interface, as a handle invoking its own implementation on any instance of
+   * the interface, such as a {@link java.lang.reflect.Proxy proxy}.
+   * <p>
+   * The handle is not bound to any instance, and is of the type {@code (Object, Object[])Object}: it takes the instance
+   * to invoke the method on and an array of exactly as many arguments as the method declares parameters, and returns
+   * {@code null} for {@code void} methods. As such, it may be invoked with {@link MethodHandle#invokeExact(Object...)},
+   * and be cached for as long as the interface is in use.
+   * </p>
    *
    * @param method the method to find
-   * @param proxy  the proxy to find the method within
    * @return the found method
    * @throws IllegalAccessException if the method is inaccessible
+   * @throws NoSuchMethodException  if the method does not exist
    */
-  @SuppressWarnings({"RedundantThrows", "java:S1130"}) // This is sneakily thrown.
-  public static MethodHandle findMethod(final Method method, final Object proxy)
-      throws IllegalAccessException {
+  public static MethodHandle findDefaultMethod(final Method method)
+      throws IllegalAccessException, NoSuchMethodException {
     final Class<?> type = method.getDeclaringClass();
+    final int parameterCount = method.getParameterCount();
 
-    return METHOD_CACHE.computeIfAbsent(method,
-        methodParam -> {
-          try {
-            return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
-                .findSpecial(type,
-                    method.getName(),
-                    MethodType.methodType(method.getReturnType(), method.getParameterTypes()),
-                    type)
-                .bindTo(proxy);
-          } catch (final NoSuchMethodException | IllegalAccessException ex) {
-            ThrowableUtils.sneakyThrow(ex);
-            throw new RuntimeException(ex);
-          }
-        });
+    return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+        .findSpecial(type,
+            method.getName(),
+            MethodType.methodType(method.getReturnType(), method.getParameterTypes()),
+            type)
+        .asType(MethodType.genericMethodType(parameterCount + 1))
+        .asSpreader(Object[].class, parameterCount);
   }
 
   /**
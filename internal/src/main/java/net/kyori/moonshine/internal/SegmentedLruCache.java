@@ -0,0 +1,207 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread-safe cache bounded in size, split into segments which each have their own lock, such that threads using
+ * different keys rarely contend. Once a segment holds more than its share of the maximum size, its least recently used
+ * entry is evicted.
+ * <p>
+ * Values are usually loaded outside the cache, without holding any lock. To not put back a value loaded before an
+ * invalidation, a loader first takes a {@link #stamp(Object) stamp} of the key, then {@link #putIfUnchanged(Object,
+ * Object, long) puts} the loaded value only if no invalidation has happened since.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class SegmentedLruCache<K, V> {
+  private final Segment<K, V>[] segments;
+  private final int mask;
+
+  /**
+   * @param maximumSize the maximum amount of entries
+   * @throws IllegalArgumentException if the maximum size is not positive
+   */
+  public SegmentedLruCache(final int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive; found " + maximumSize);
+    }
+
+    // At least twice as many segments as processors, so threads running at once rarely share one; but never so many
+    // that a segment would be left without room.
+    final int segmentCount = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1),
+        Integer.highestOneBit(maximumSize));
+    final int segmentSize = (maximumSize + segmentCount - 1) / segmentCount;
+    this.segments = newSegments(segmentCount);
+    for (int idx = 0; idx < segmentCount; ++idx) {
+      this.segments[idx] = new Segment<>(segmentSize);
+    }
+    this.mask = segmentCount - 1;
+  }
+
+  /**
+   * Get the value of a key, marking it as the most recently used.
+   *
+   * @param key the key
+   * @return the value, or {@code null} if there is none
+   */
+  public @Nullable V get(final K key) {
+    final Segment<K, V> segment = this.segment(key);
+    synchronized (segment) {
+      return segment.get(key);
+    }
+  }
+
+  /**
+   * Take a stamp of a key, to {@link #putIfUnchanged(Object, Object, long) put} a value loaded for it after.
+   *
+   * @param key the key to load a value of
+   * @return the stamp
+   */
+  public long stamp(final K key) {
+    final Segment<K, V> segment = this.segment(key);
+    synchronized (segment) {
+      return segment.generation;
+    }
+  }
+
+  /**
+   * Put a value, unless any entry was invalidated since the stamp was taken.
+   *
+   * @param key   the key
+   * @param value the value
+   * @param stamp the {@link #stamp(Object) stamp} taken of the key before the value was loaded
+   * @return whether the value was put
+   */
+  public boolean putIfUnchanged(final K key, final V value, final long stamp) {
+    final Segment<K, V> segment = this.segment(key);
+    synchronized (segment) {
+      if (segment.generation != stamp) {
+        return false;
+      }
+
+      segment.put(key, value);
+      return true;
+    }
+  }
+
+  /**
+   * Put a value.
+   *
+   * @param key   the key
+   * @param value the value
+   */
+  public void put(final K key, final V value) {
+    final Segment<K, V> segment = this.segment(key);
+    synchronized (segment) {
+      segment.put(key, value);
+    }
+  }
+
+  /**
+   * Remove the value of a key, if it is the given value.
+   *
+   * @param key   the key
+   * @param value the value to remove
+   */
+  public void remove(final K key, final V value) {
+    final Segment<K, V> segment = this.segment(key);
+    synchronized (segment) {
+      segment.remove(key, value);
+    }
+  }
+
+  /**
+   * Invalidate every entry whose key matches, including any value being loaded for such a key.
+   *
+   * @param predicate the predicate of the keys to invalidate
+   */
+  public void invalidateIf(final Predicate<? super K> predicate) {
+    for (final Segment<K, V> segment : this.segments) {
+      synchronized (segment) {
+        ++segment.generation;
+        segment.keySet().removeIf(predicate);
+      }
+    }
+  }
+
+  /**
+   * Invalidate every entry, including any value being loaded.
+   */
+  public void invalidateAll() {
+    for (final Segment<K, V> segment : this.segments) {
+      synchronized (segment) {
+        ++segment.generation;
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * @return the amount of entries
+   */
+  public int size() {
+    int size = 0;
+    for (final Segment<K, V> segment : this.segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  private Segment<K, V> segment(final K key) {
+    final int hash = key.hashCode();
+    return this.segments[(hash ^ (hash >>> 16)) & this.mask];
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"}) // Arrays of a generic type cannot be created.
+  private static <K, V> Segment<K, V>[] newSegments(final int segmentCount) {
+    return new Segment[segmentCount];
+  }
+
+  /**
+   * A segment of the cache, in order of least recent access. Guarded by itself.
+   */
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maximumSize;
+
+    /**
+     * How many times this segment was invalidated.
+     */
+    private long generation;
+
+    /* package-private */ Segment(final int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+      return this.size() > this.maximumSize;
+    }
+  }
+}
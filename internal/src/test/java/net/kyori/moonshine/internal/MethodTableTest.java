@@ -0,0 +1,116 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MethodTableTest {
+  @Test
+  void tableMethodsAreFoundByIdentity() {
+    final Method[] methods = String.class.getMethods();
+    final MethodTable table = new MethodTable(methods);
+
+    for (int ordinal = 0; ordinal < methods.length; ++ordinal) {
+      assertThat(table.ordinal(methods[ordinal])).isEqualTo(ordinal);
+    }
+  }
+
+  @Test
+  void unseenInstancesFallBackToEquality() {
+    final Method[] methods = String.class.getMethods();
+    final MethodTable table = new MethodTable(methods);
+    final List<Method> methodList = Arrays.asList(methods);
+
+    // Every call returns new copies of the methods.
+    for (final Method copy : String.class.getMethods()) {
+      assertThat(copy).isNotSameAs(methods[methodList.indexOf(copy)]);
+      assertThat(table.ordinal(copy)).isEqualTo(methodList.indexOf(copy));
+      // Now learnt, or found by equality again.
+      assertThat(table.ordinal(copy)).isEqualTo(methodList.indexOf(copy));
+    }
+  }
+
+  @Test
+  void instancesPastTheLearntCapAreStillFound() throws NoSuchMethodException {
+    final MethodTable table = new MethodTable(new Method[]{Runnable.class.getMethod("run")});
+
+    // Far more instances than may be learnt; those past the cap must keep falling back to equality.
+    final List<Method> copies = new ArrayList<>();
+    for (int idx = 0; idx < 64; ++idx) {
+      copies.add(Runnable.class.getMethod("run"));
+    }
+    for (final Method copy : copies) {
+      assertThat(table.ordinal(copy)).isZero();
+    }
+    for (final Method copy : copies) {
+      assertThat(table.ordinal(copy)).isZero();
+    }
+  }
+
+  @Test
+  void probesWrapAroundTheTable() throws NoSuchMethodException {
+    // Identity hashes cannot be chosen, so build many small, full tables such that some probe sequences run off the
+    // end of their table and must wrap around to its start.
+    for (int table = 0; table < 256; ++table) {
+      final Method[] methods = {Object.class.getMethod("hashCode"), Object.class.getMethod("toString")};
+      final MethodTable methodTable = new MethodTable(methods);
+      final List<Method> instances = new ArrayList<>(Arrays.asList(methods));
+      for (int copy = 0; copy < 3; ++copy) {
+        instances.add(Object.class.getMethod("hashCode"));
+        instances.add(Object.class.getMethod("toString"));
+      }
+
+      for (final Method instance : instances) {
+        assertThat(methodTable.ordinal(instance)).isEqualTo(instance.getName().equals("hashCode") ? 0 : 1);
+      }
+      for (final Method instance : instances) {
+        assertThat(methodTable.ordinal(instance)).isEqualTo(instance.getName().equals("hashCode") ? 0 : 1);
+      }
+      assertThat(methodTable.ordinal(Object.class.getMethod("equals", Object.class))).isEqualTo(-1);
+    }
+  }
+
+  @Test
+  void unknownMethodsAreNotFound() throws NoSuchMethodException {
+    final MethodTable table = new MethodTable(new Method[]{Runnable.class.getMethod("run")});
+
+    assertThat(table.ordinal(Object.class.getMethod("toString"))).isEqualTo(-1);
+    // Unknown methods are never learnt.
+    assertThat(table.ordinal(Object.class.getMethod("toString"))).isEqualTo(-1);
+  }
+
+  @Test
+  void emptyTableFindsNothing() throws NoSuchMethodException {
+    assertThat(new MethodTable(new Method[0]).ordinal(Object.class.getMethod("toString"))).isEqualTo(-1);
+  }
+
+  @Test
+  void duplicateMethodsAreRejected() throws NoSuchMethodException {
+    final Method[] methods = {Runnable.class.getMethod("run"), Runnable.class.getMethod("run")};
+
+    assertThatThrownBy(() -> new MethodTable(methods))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,10 @@
+plugins {
+    id("moonshine.api")
+}
+
+description = "Annotation processor generating implementations of moonshine-driven types at compile-time"
+
+dependencies {
+    testImplementation(project(":moonshine-core"))
+    testImplementation(project(":moonshine-standard"))
+}
@@ -0,0 +1,365 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An annotation processor generating an implementation of every interface declaring {@code @Message} methods.
+ * <p>
+ * The implementation of {@code a.b.Outer.Inner} is {@code a.b.Outer_Inner_Moonshine}; it extends {@code
+ * MoonshineProxy}, and implements every message method with a direct call to the precomputed invocation plan of the
+ * method, without any reflection or {@link java.lang.reflect.Proxy} in between. {@code
+ * MoonshineBuilder.Resolved#create} picks up the implementation when present.
+ * </p>
+ */
+public final class MoonshineProcessor extends AbstractProcessor {
+  /* package-private */ static final String MESSAGE_ANNOTATION = "net.kyori.moonshine.annotation.Message";
+  /* package-private */ static final String SUFFIX = "_Moonshine";
+
+  private static final String MOONSHINE = "net.kyori.moonshine.Moonshine";
+  private static final String MOONSHINE_PROXY = "net.kyori.moonshine.MoonshineProxy";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Set.of(MESSAGE_ANNOTATION);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    final Set<TypeElement> types = new LinkedHashSet<>();
+    for (final TypeElement annotation : annotations) {
+      for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        final Element enclosing = element.getEnclosingElement();
+        if (enclosing.getKind() == ElementKind.INTERFACE) {
+          types.add((TypeElement) enclosing);
+        }
+      }
+    }
+
+    for (final TypeElement type : types) {
+      if (!this.isAccessible(type)) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+            "not generating an implementation for a type inaccessible from its own package", type);
+        continue;
+      }
+
+      try {
+        this.generate(type);
+      } catch (final IOException ex) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "could not generate an implementation: " + ex.getMessage(), type);
+      }
+    }
+
+    // Other processors may be interested in @Message too.
+    return false;
+  }
+
+  private boolean isAccessible(final TypeElement type) {
+    @Nullable Element element = type;
+    while (element instanceof TypeElement) {
+      final TypeElement typeElement = (TypeElement) element;
+      if (typeElement.getModifiers().contains(Modifier.PRIVATE)
+          || typeElement.getNestingKind() == NestingKind.LOCAL
+          || typeElement.getNestingKind() == NestingKind.ANONYMOUS) {
+        return false;
+      }
+      element = typeElement.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private void generate(final TypeElement type) throws IOException {
+    final PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(type);
+    final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    final String simpleName = flattenedName(type) + SUFFIX;
+    final String typeParameters = typeParameters(type.getTypeParameters());
+    final String typeArguments = type.getTypeParameters().isEmpty()
+        ? ""
+        : type.getTypeParameters().stream()
+            .map(parameter -> parameter.getSimpleName().toString())
+            .collect(Collectors.joining(", ", "<", ">"));
+
+    final List<ExecutableElement> dispatchedMethods = new ArrayList<>();
+    final StringBuilder methods = new StringBuilder();
+    final Set<String> signatures = new HashSet<>();
+    final DeclaredType declaredType = (DeclaredType) type.asType();
+    for (final ExecutableElement method :
+        ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+      final Set<Modifier> modifiers = method.getModifiers();
+      if (!modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.STATIC) || isObjectMethod(method)) {
+        // Default methods are inherited, and the base class takes care of Object.
+        continue;
+      }
+      if (!signatures.add(this.erasedSignature(method))) {
+        // The same signature may be inherited from multiple interfaces, but can only be implemented once.
+        continue;
+      }
+
+      final ExecutableType methodType =
+          (ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(declaredType, method);
+      this.writeMethod(methods, method, methodType, dispatchedMethods);
+    }
+
+    final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+    try (final Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+      if (!packageName.isEmpty()) {
+        writer.write("package " + packageName + ";\n\n");
+      }
+      writer.write("@javax.annotation.processing.Generated(\"" + MoonshineProcessor.class.getName() + "\")\n");
+      writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+      writer.write("public final class " + simpleName + typeParameters + " extends " + MOONSHINE_PROXY
+          + " implements " + type.getQualifiedName() + typeArguments + " {\n");
+      writer.write("  private static final String[] SIGNATURES = {\n");
+      for (final ExecutableElement method : dispatchedMethods) {
+        writer.write("      \"" + this.signature(method) + "\",\n");
+      }
+      writer.write("  };\n\n");
+      writer.write("  public " + simpleName + "(final " + MOONSHINE + "<?, ?, ?, ?> moonshine) {\n");
+      writer.write("    super(moonshine, SIGNATURES);\n");
+      writer.write("  }\n");
+      writer.write(methods.toString());
+      writer.write("}\n");
+    }
+  }
+
+  private void writeMethod(final StringBuilder out, final ExecutableElement method, final ExecutableType methodType,
+      final List<ExecutableElement> dispatchedMethods) {
+    final TypeMirror returnType = methodType.getReturnType();
+    final List<? extends VariableElement> parameters = method.getParameters();
+    final List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+
+    out.append("\n  @Override\n  public final ");
+    if (!method.getTypeParameters().isEmpty()) {
+      out.append(typeParameters(method.getTypeParameters())).append(' ');
+    }
+    out.append(typeName(returnType)).append(' ').append(method.getSimpleName()).append('(');
+    for (int idx = 0; idx < parameters.size(); ++idx) {
+      if (idx != 0) {
+        out.append(", ");
+      }
+      final TypeMirror parameterType = parameterTypes.get(idx);
+      if (method.isVarArgs() && idx == parameters.size() - 1) {
+        out.append("final ").append(typeName(((ArrayType) parameterType).getComponentType())).append("...");
+      } else {
+        out.append("final ").append(typeName(parameterType));
+      }
+      out.append(' ').append(parameters.get(idx).getSimpleName());
+    }
+    out.append(')');
+    if (!methodType.getThrownTypes().isEmpty()) {
+      out.append(" throws ").append(methodType.getThrownTypes().stream()
+          .map(MoonshineProcessor::typeName)
+          .collect(Collectors.joining(", ")));
+    }
+    out.append(" {\n    ");
+
+    if (this.isMoonshine(returnType)) {
+      out.append("return (").append(typeName(returnType)).append(") ")
+          .append(MOONSHINE_PROXY).append(".moonshine(this);\n  }\n");
+      return;
+    }
+
+    if (returnType.getKind() != TypeKind.VOID) {
+      out.append("return (").append(typeName(returnType)).append(") ");
+    }
+    out.append("this.dispatch(").append(dispatchedMethods.size()).append(", ");
+    dispatchedMethods.add(method);
+    if (parameters.isEmpty()) {
+      out.append("null");
+    } else {
+      out.append("new Object[] {").append(parameters.stream()
+          .map(parameter -> parameter.getSimpleName().toString())
+          .collect(Collectors.joining(", "))).append('}');
+    }
+    out.append(");\n  }\n");
+  }
+
+  private boolean isMoonshine(final TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(MOONSHINE);
+  }
+
+  /**
+   * Get the signature of a method as found by {@code MoonshineProxy} at runtime: its name followed by its method
+   * descriptor, as declared.
+   */
+  private String signature(final ExecutableElement method) {
+    return method.getSimpleName() + method.getParameters().stream()
+        .map(parameter -> this.descriptor(parameter.asType()))
+        .collect(Collectors.joining("", "(", ")")) + this.descriptor(method.getReturnType());
+  }
+
+  private String descriptor(final TypeMirror type) {
+    final TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+    switch (erased.getKind()) {
+      case ARRAY:
+        return '[' + this.descriptor(((ArrayType) erased).getComponentType());
+      case DECLARED:
+        final TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+        return 'L' + this.processingEnv.getElementUtils().getBinaryName(element).toString().replace('.', '/') + ';';
+      case BOOLEAN:
+        return "Z";
+      case BYTE:
+        return "B";
+      case SHORT:
+        return "S";
+      case CHAR:
+        return "C";
+      case INT:
+        return "I";
+      case LONG:
+        return "J";
+      case FLOAT:
+        return "F";
+      case DOUBLE:
+        return "D";
+      case VOID:
+        return "V";
+      default:
+        throw new IllegalArgumentException("no descriptor for type " + type);
+    }
+  }
+
+  private String erasedSignature(final ExecutableElement method) {
+    return method.getSimpleName() + method.getParameters().stream()
+        .map(parameter -> this.erasure(parameter.asType()))
+        .collect(Collectors.joining(",", "(", ")"));
+  }
+
+  /**
+   * Get the erasure of a type, as used in a class literal. This cannot simply be the string of the type, as that
+   * includes any type annotations.
+   */
+  private String erasure(final TypeMirror type) {
+    final TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+    switch (erased.getKind()) {
+      case ARRAY:
+        return this.erasure(((ArrayType) erased).getComponentType()) + "[]";
+      case DECLARED:
+        return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+      default:
+        return erased.getKind().name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static boolean isObjectMethod(final ExecutableElement method) {
+    final String name = method.getSimpleName().toString();
+    final int parameters = method.getParameters().size();
+    return ("equals".equals(name) && parameters == 1
+        && typeName(method.getParameters().get(0).asType()).equals("java.lang.Object"))
+        || ("hashCode".equals(name) && parameters == 0)
+        || ("toString".equals(name) && parameters == 0);
+  }
+
+  /**
+   * Get the name of a type as written in source, omitting any type annotations; these may not be placed in front of
+   * qualified names.
+   */
+  private static String typeName(final TypeMirror type) {
+    switch (type.getKind()) {
+      case ARRAY:
+        return typeName(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED:
+        final DeclaredType declared = (DeclaredType) type;
+        final String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if (declared.getTypeArguments().isEmpty()) {
+          return name;
+        }
+        return name + declared.getTypeArguments().stream()
+            .map(MoonshineProcessor::typeName)
+            .collect(Collectors.joining(", ", "<", ">"));
+      case TYPEVAR:
+        return ((TypeVariable) type).asElement().getSimpleName().toString();
+      case WILDCARD:
+        final WildcardType wildcard = (WildcardType) type;
+        if (wildcard.getExtendsBound() != null) {
+          return "? extends " + typeName(wildcard.getExtendsBound());
+        } else if (wildcard.getSuperBound() != null) {
+          return "? super " + typeName(wildcard.getSuperBound());
+        }
+        return "?";
+      default:
+        return type.getKind().name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static String flattenedName(final TypeElement type) {
+    final StringBuilder name = new StringBuilder(type.getSimpleName());
+    @Nullable Element enclosing = type.getEnclosingElement();
+    while (enclosing instanceof TypeElement) {
+      name.insert(0, '_').insert(0, enclosing.getSimpleName());
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.toString();
+  }
+
+  private static String typeParameters(final List<? extends TypeParameterElement> typeParameters) {
+    if (typeParameters.isEmpty()) {
+      return "";
+    }
+
+    return typeParameters.stream()
+        .map(parameter -> {
+          final List<? extends TypeMirror> bounds = parameter.getBounds();
+          if (bounds.isEmpty() || (bounds.size() == 1 && typeName(bounds.get(0)).equals("java.lang.Object"))) {
+            return parameter.getSimpleName().toString();
+          }
+          return parameter.getSimpleName() + " extends " + bounds.stream()
+              .map(MoonshineProcessor::typeName)
+              .collect(Collectors.joining(" & "));
+        })
+        .collect(Collectors.joining(", ", "<", ">"));
+  }
+}
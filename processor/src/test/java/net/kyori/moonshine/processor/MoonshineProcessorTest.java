@@ -0,0 +1,138 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.leangen.geantyref.TypeToken;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import net.kyori.moonshine.Moonshine;
+import net.kyori.moonshine.MoonshineProxy;
+import net.kyori.moonshine.message.StringMessageRenderer;
+import net.kyori.moonshine.placeholder.ConclusionValue;
+import net.kyori.moonshine.placeholder.IPlaceholderResolver;
+import net.kyori.moonshine.strategy.StandardPlaceholderResolverStrategy;
+import net.kyori.moonshine.strategy.supertype.StandardSupertypeThenInterfaceSupertypeStrategy;
+import net.kyori.moonshine.util.Either;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MoonshineProcessorTest {
+  private static final String SOURCE = String.join("\n",
+      "package processed;",
+      "",
+      "import java.util.function.Consumer;",
+      "import net.kyori.moonshine.Moonshine;",
+      "import net.kyori.moonshine.annotation.Message;",
+      "import net.kyori.moonshine.annotation.Placeholder;",
+      "import org.checkerframework.checker.nullness.qual.Nullable;",
+      "",
+      "public interface Outer {",
+      "  interface Messages {",
+      "    @Message(\"greet\")",
+      "    void greet(Consumer<String> receiver, @Placeholder String name, @Placeholder int times);",
+      "",
+      "    @Message(\"farewell\")",
+      "    String farewell(Consumer<String> receiver, @Placeholder @Nullable String name);",
+      "",
+      "    default String politeFarewell(final Consumer<String> receiver) {",
+      "      return this.farewell(receiver, \"sir\");",
+      "    }",
+      "",
+      "    Moonshine<Consumer<String>, String, String, String> moonshine();",
+      "  }",
+      "}",
+      "");
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void generatedImplementationIsPickedUp(@TempDir final Path directory) throws Exception {
+    final Path source = directory.resolve("processed/Outer.java");
+    Files.createDirectories(source.getParent());
+    Files.writeString(source, SOURCE);
+
+    final Path classes = directory.resolve("classes");
+    Files.createDirectories(classes);
+    final List<String> diagnostics = compile(source, classes);
+    assertThat(diagnostics).isEmpty();
+    assertThat(classes.resolve("processed/Outer_Messages_Moonshine.class")).exists();
+
+    try (final URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+        MoonshineProcessorTest.class.getClassLoader())) {
+      final Class<?> type = Class.forName("processed.Outer$Messages", true, loader);
+      final Object messages = Moonshine.<Object, Consumer<String>>builder(TypeToken.get((Class<Object>) type))
+          .receiverLocatorResolver((method, proxy) -> (method1, proxy1, parameters) -> (Consumer<String>) parameters[0],
+              1)
+          .sourced((receiver, messageKey) -> messageKey.equals("greet") ? "Hello, {name} x{times}" : "Bye, {name}")
+          .rendered(new StringMessageRenderer<Consumer<String>, String, String, String>("{", "}", s -> s, s -> s,
+              s -> s))
+          .sent(Consumer::accept)
+          .resolvingWithStrategy(new StandardPlaceholderResolverStrategy<>(
+              new StandardSupertypeThenInterfaceSupertypeStrategy(false)))
+          .weightedPlaceholderResolver(String.class, IPlaceholderResolver.identityPlaceholderResolver(), 1)
+          .weightedPlaceholderResolver(Integer.class,
+              (placeholderName, value, receiver, owner, method, parameters) ->
+                  Map.of(placeholderName, Either.left(ConclusionValue.conclusionValue(String.valueOf(value)))),
+              1)
+          .create(loader);
+
+      assertThat(messages.getClass().getName()).isEqualTo("processed.Outer_Messages_Moonshine");
+      assertThat(messages).isInstanceOf(MoonshineProxy.class);
+
+      final List<String> sent = new ArrayList<>();
+      final Consumer<String> receiver = sent::add;
+      type.getMethod("greet", Consumer.class, String.class, int.class).invoke(messages, receiver, "Kyori", 3);
+      assertThat(sent).containsExactly("Hello, Kyori x3");
+      assertThat(type.getMethod("politeFarewell", Consumer.class).invoke(messages, receiver)).isEqualTo("Bye, sir");
+      assertThat(type.getMethod("moonshine").invoke(messages)).isInstanceOf(Moonshine.class);
+    }
+  }
+
+  private static List<String> compile(final Path source, final Path classes) throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+      final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          List.of("-parameters", "-d", classes.toString(), "-classpath", System.getProperty("java.class.path")),
+          null, fileManager.getJavaFileObjects(source));
+      task.setProcessors(List.of(new MoonshineProcessor()));
+      task.call();
+    }
+
+    final List<String> errors = new ArrayList<>();
+    diagnostics.getDiagnostics().stream()
+        .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+        .forEach(diagnostic -> errors.add(diagnostic.getMessage(Locale.ROOT)));
+    return errors;
+  }
+}
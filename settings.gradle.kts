@@ -9,7 +9,9 @@ rootProject.name = "moonshine"
 moonshineProject("core")
 moonshineProject("standard")
 moonshineProject("internal")
+moonshineProject("processor")
 moonshineProject("bom")
+moonshineProject("benchmarks")
 
 fun moonshineProject(path: String, name: String = "moonshine-$path"): ProjectDescriptor {
     include(path)
@@ -0,0 +1,70 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.util.Set;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The base of renderers which parse every message once into a {@link MessageTemplate}.
+ *
+ * @param <R> the eventual receiver type of this message
+ * @param <I> the intermediate message type
+ * @param <O> the output/rendered message type
+ * @param <F> the finalised placeholder type
+ */
+@ThreadSafe
+/* package-private */ abstract class AbstractTemplateMessageRenderer<R, I, O, F>
+    implements IMessageRenderer<R, I, O, F> {
+  private final Function<I, String> intermediateToStringConverter;
+  private final MessageTemplates templates;
+
+  /**
+   * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum amount of templates is negative
+   */
+  /* package-private */ AbstractTemplateMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter, final int maximumTemplates) {
+    this.templates = new MessageTemplates(prefix, suffix, maximumTemplates);
+    this.intermediateToStringConverter = intermediateToStringConverter;
+  }
+
+  @Override
+  public @Nullable Set<String> placeholderNames(final I intermediateMessage) {
+    return this.template(intermediateMessage).placeholderNames();
+  }
+
+  /**
+   * Get the template of an intermediate message, parsing it if it is yet to be.
+   * <p>
+   * Intermediate messages which are templates already, such as those of a {@link TemplateCachingMessageSource}, are
+   * their own template.
+   * </p>
+   *
+   * @param intermediateMessage the intermediate message
+   * @return the template of the message
+   */
+  public MessageTemplate template(final I intermediateMessage) {
+    if (intermediateMessage instanceof MessageTemplate) {
+      return (MessageTemplate) intermediateMessage;
+    }
+
+    return this.templates.template(this.intermediateToStringConverter.apply(intermediateMessage));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.exception.MissingMessageException;
+import net.kyori.moonshine.internal.SegmentedLruCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A decorator for a {@link IMessageSource} which caches its messages by their message key and a key derived from the
+ * receiver, such as their locale.
+ * <p>
+ * The delegate must source equal messages for equal receiver keys. Messages the delegate is missing may be cached too,
+ * such that a missing message does not hit the delegate on every invocation either. When the messages of the delegate
+ * change, such as when translations are reloaded, the affected messages must be {@link #invalidate(String)
+ * invalidated}.
+ * </p>
+ * <p>
+ * The cache is split into segments, each with its own lock, such that threads sourcing different messages rarely
+ * contend. Once a segment holds more than its share of the maximum amount of messages, its least recently used message
+ * is evicted. Messages sourced while they are invalidated are not cached, such that invalidating always wins.
+ * </p>
+ *
+ * @param <R> the receiver type
+ * @param <I> the intermediate message type
+ */
+@ThreadSafe
+public final class CachingMessageSource<R, I> implements IMessageSource<R, I> {
+  private final IMessageSource<R, I> delegate;
+  private final Function<? super R, ?> receiverKey;
+  private final boolean cacheMissingMessages;
+  private final SegmentedLruCache<Key, Cached<I>> cache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param delegate             the source of the messages to cache
+   * @param receiverKey          the function deriving a key from the receiver, which the messages of the delegate
+   *                             depend on; if they do not depend on the receiver, this may return a constant
+   * @param maximumSize          the maximum amount of messages to cache, including missing messages
+   * @param cacheMissingMessages whether to cache the messages the delegate is missing
+   * @throws IllegalArgumentException if the maximum size is not positive
+   */
+  public CachingMessageSource(final IMessageSource<R, I> delegate, final Function<? super R, ?> receiverKey,
+      final int maximumSize, final boolean cacheMissingMessages) {
+    this.delegate = delegate;
+    this.receiverKey = receiverKey;
+    this.cacheMissingMessages = cacheMissingMessages;
+    this.cache = new SegmentedLruCache<>(maximumSize);
+  }
+
+  @Override
+  public I messageOf(final R receiver, final String messageKey) throws MissingMessageException {
+    final Key key = new Key(this.receiverKey.apply(receiver), messageKey);
+    final @Nullable Cached<I> cached = this.cache.get(key);
+    if (cached != null) {
+      this.hits.increment();
+      if (cached.message() == null) {
+        throw new MissingMessageException(messageKey);
+      }
+      return cached.message();
+    }
+
+    // The delegate may be expensive; let other threads use the cache in the meantime. Should the message be
+    // invalidated meanwhile, what the delegate sourced may be stale, and is not cached.
+    this.misses.increment();
+    final long stamp = this.cache.stamp(key);
+    final I message;
+    try {
+      message = this.delegate.messageOf(receiver, messageKey);
+    } catch (final MissingMessageException ex) {
+      if (this.cacheMissingMessages) {
+        this.cache.putIfUnchanged(key, new Cached<>(null), stamp);
+      }
+      throw ex;
+    }
+    this.cache.putIfUnchanged(key, new Cached<>(message), stamp);
+    return message;
+  }
+
+  /**
+   * Invalidate a message, for every receiver key.
+   *
+   * @param messageKey the key of the message
+   */
+  public void invalidate(final String messageKey) {
+    this.cache.invalidateIf(key -> key.messageKey().equals(messageKey));
+  }
+
+  /**
+   * Invalidate every message for a receiver key, such as every message of a locale.
+   *
+   * @param receiverKey the key derived from the receiver
+   */
+  public void invalidateReceiverKey(final @Nullable Object receiverKey) {
+    this.cache.invalidateIf(key -> Objects.equals(key.receiverKey(), receiverKey));
+  }
+
+  /**
+   * Invalidate every message.
+   */
+  public void invalidateAll() {
+    this.cache.invalidateAll();
+  }
+
+  /**
+   * @return how many times a cached message, or a cached missing message, was used
+   */
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * @return how many times the delegate was invoked, as no message was cached
+   */
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * @return how many messages are cached, including missing messages
+   */
+  public int size() {
+    return this.cache.size();
+  }
+
+  private record Key(@Nullable Object receiverKey, String messageKey) {
+  }
+
+  /**
+   * @param message the cached message, or {@code null} if the delegate is missing it
+   */
+  private record Cached<I>(@Nullable I message) {
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+
+/**
+ * A formatter for strings with {@code "${prefix}${name}${suffix}"} placeholders, which parses every message once into
+ * a {@link MessageTemplate} and renders it in a single pass.
+ * <p>
+ * Unlike {@link StringMessageRenderer}, the values of placeholders are never searched for further placeholders, and the
+ * cost of rendering does not grow with the amount of placeholders resolved for the message. Messages are rendered into
+ * pooled buffers, sized by the length of earlier renders of the same message.
+ * </p>
+ *
+ * @param <R> the eventual receiver type of this message
+ * @param <I> the intermediate message type
+ * @param <O> the output/rendered message type
+ * @param <F> the finalised placeholder type
+ */
+@ThreadSafe
+public final class CompiledStringMessageRenderer<R, I, O, F> extends AbstractTemplateMessageRenderer<R, I, O, F> {
+  /**
+   * The default maximum amount of templates to keep.
+   */
+  public static final int DEFAULT_MAXIMUM_TEMPLATES = 1024;
+
+  private final Function<String, O> stringToOutputConverter;
+  private final Function<F, String> placeholderValueToStringConverter;
+
+  public CompiledStringMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter, final Function<String, O> stringToOutputConverter,
+      final Function<F, String> placeholderValueToStringConverter) {
+    this(prefix, suffix, intermediateToStringConverter, stringToOutputConverter, placeholderValueToStringConverter,
+        DEFAULT_MAXIMUM_TEMPLATES);
+  }
+
+  /**
+   * @param prefix                            the prefix of every placeholder
+   * @param suffix                            the suffix of every placeholder
+   * @param intermediateToStringConverter     the function converting intermediate messages into their text
+   * @param stringToOutputConverter           the function converting rendered text into output messages
+   * @param placeholderValueToStringConverter the function converting placeholder values into their text
+   * @param maximumTemplates                  the maximum amount of templates to keep
+   * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum amount of templates is negative
+   */
+  public CompiledStringMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter, final Function<String, O> stringToOutputConverter,
+      final Function<F, String> placeholderValueToStringConverter, final int maximumTemplates) {
+    super(prefix, suffix, intermediateToStringConverter, maximumTemplates);
+    this.stringToOutputConverter = stringToOutputConverter;
+    this.placeholderValueToStringConverter = placeholderValueToStringConverter;
+  }
+
+  @Override
+  public O render(
+      final R receiver,
+      final I intermediateMessage,
+      final Map<String, ? extends F> resolvedPlaceholders,
+      final Method method,
+      final Type owner
+  ) {
+    return this.stringToOutputConverter.apply(
+        this.template(intermediateMessage).render(resolvedPlaceholders, this.placeholderValueToStringConverter));
+  }
+}
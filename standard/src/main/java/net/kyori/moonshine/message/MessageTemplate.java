@@ -0,0 +1,377 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.placeholder.ResolvedPlaceholders;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Pure;
+
+/**
+ * A message parsed once into its literal text and the placeholders between, such that it can be rendered in a single
+ * pass.
+ * <p>
+ * A placeholder is {@code "${prefix}${name}${suffix}"}, where the name contains no prefix; in {@code "{a{b}"}, only
+ * {@code b} is a placeholder. Placeholders which are not resolved are rendered as they are written.
+ * </p>
+ * <p>
+ * Placeholders concluded as numbers in a {@link ResolvedPlaceholders} are written straight from the primitive, without
+ * going through the function converting placeholder values into their text.
+ * </p>
+ */
+@ThreadSafe
+public final class MessageTemplate {
+  private static final RenderBufferPool<StringBuilder> STRING_BUILDERS =
+      new RenderBufferPool<>(() -> new StringBuilder(256), StringBuilder::capacity, 16 * 1024);
+  private static final RenderBufferPool<Utf8Output> UTF8_OUTPUTS =
+      new RenderBufferPool<>(() -> new Utf8Output(256), Utf8Output::capacity, 64 * 1024);
+
+  private final String prefix;
+  private final String suffix;
+
+  /**
+   * The literal text before each placeholder, and after the last; this is one longer than {@link #placeholderNames}.
+   */
+  private final String[] literals;
+  private final String[] placeholderNames;
+  private final int literalLength;
+  private final Set<String> placeholderNameSet;
+
+  /**
+   * The {@link #literals} encoded as UTF-8, encoded on the first render into bytes. Racing threads encode equal
+   * literals, so whichever is stored last is as good as any other.
+   */
+  private volatile byte @Nullable [][] utf8Literals;
+
+  /**
+   * How long renders of this template are expected to be, in chars and in UTF-8 encoded bytes, as learnt from earlier
+   * renders. Racing renders may each store their own; either is as good a hint as the other.
+   */
+  private volatile int lengthHint;
+  private volatile int utf8LengthHint;
+
+  private MessageTemplate(final String prefix, final String suffix, final String[] literals,
+      final String[] placeholderNames) {
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.literals = literals;
+    this.placeholderNames = placeholderNames;
+
+    int literalLength = 0;
+    for (final String literal : literals) {
+      literalLength += literal.length();
+    }
+    this.literalLength = literalLength;
+    this.lengthHint = literalLength + placeholderNames.length * 16;
+    this.utf8LengthHint = this.lengthHint;
+
+    final Set<String> placeholderNameSet = new LinkedHashSet<>(placeholderNames.length * 2);
+    Collections.addAll(placeholderNameSet, placeholderNames);
+    this.placeholderNameSet = Collections.unmodifiableSet(placeholderNameSet);
+  }
+
+  /**
+   * Parse a message into a template.
+   *
+   * @param message the message to parse
+   * @param prefix  the prefix of every placeholder
+   * @param suffix  the suffix of every placeholder
+   * @return the template of the message
+   * @throws IllegalArgumentException if the prefix or suffix is empty
+   */
+  public static MessageTemplate parse(final String message, final String prefix, final String suffix) {
+    if (prefix.isEmpty() || suffix.isEmpty()) {
+      throw new IllegalArgumentException("prefix and suffix must not be empty");
+    }
+
+    final List<String> literals = new ArrayList<>();
+    final List<String> placeholderNames = new ArrayList<>();
+    int literalIndex = 0;
+    int prefixIndex = message.indexOf(prefix);
+    while (prefixIndex != -1) {
+      final int nameIndex = prefixIndex + prefix.length();
+      final int suffixIndex = message.indexOf(suffix, nameIndex);
+      if (suffixIndex == -1) {
+        break;
+      }
+
+      final int nestedPrefixIndex = message.indexOf(prefix, nameIndex);
+      if (nestedPrefixIndex != -1 && nestedPrefixIndex < suffixIndex) {
+        // The name would contain a prefix; the placeholder starts there instead.
+        prefixIndex = nestedPrefixIndex;
+        continue;
+      }
+
+      literals.add(message.substring(literalIndex, prefixIndex));
+      placeholderNames.add(message.substring(nameIndex, suffixIndex));
+      literalIndex = suffixIndex + suffix.length();
+      prefixIndex = message.indexOf(prefix, literalIndex);
+    }
+    literals.add(message.substring(literalIndex));
+
+    return new MessageTemplate(prefix, suffix, literals.toArray(new String[0]),
+        placeholderNames.toArray(new String[0]));
+  }
+
+  /**
+   * @return the names of the placeholders of this template, in the order they are first written in
+   */
+  @Pure
+  public Set<String> placeholderNames() {
+    return this.placeholderNameSet;
+  }
+
+  /**
+   * Render this template with the given placeholders.
+   *
+   * @param resolvedPlaceholders the resolved placeholders
+   * @param valueToString        the function converting each placeholder value into its text
+   * @param <F>                  the finalised placeholder type
+   * @return the rendered message
+   */
+  public <F> String render(final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, String> valueToString) {
+    if (this.placeholderNames.length == 0) {
+      return this.literals[0];
+    }
+
+    final StringBuilder builder = STRING_BUILDERS.acquire();
+    try {
+      builder.setLength(0);
+      builder.ensureCapacity(withSlack(this.lengthHint));
+      this.renderInto(builder, resolvedPlaceholders, valueToString);
+      this.lengthHint = nextLengthHint(this.lengthHint, builder.length());
+      return builder.toString();
+    } finally {
+      STRING_BUILDERS.release(builder);
+    }
+  }
+
+  /**
+   * Render this template with the given placeholders into a builder.
+   *
+   * @param builder              the builder to append the rendered message to
+   * @param resolvedPlaceholders the resolved placeholders
+   * @param valueToString        the function converting each placeholder value into its text
+   * @param <F>                  the finalised placeholder type
+   */
+  public <F> void renderInto(final StringBuilder builder, final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, String> valueToString) {
+    final @Nullable ResolvedPlaceholders<?> numbers = numbers(resolvedPlaceholders);
+    builder.append(this.literals[0]);
+    for (int idx = 0; idx < this.placeholderNames.length; ++idx) {
+      final String placeholderName = this.placeholderNames[idx];
+      final @Nullable F value = resolvedPlaceholders.get(placeholderName);
+      if (value == null) {
+        builder.append(this.prefix).append(placeholderName).append(this.suffix);
+      } else if (numbers != null && numbers.isNumber(placeholderName)) {
+        appendNumber(builder, value);
+      } else {
+        builder.append(valueToString.apply(value));
+      }
+      builder.append(this.literals[idx + 1]);
+    }
+  }
+
+  /**
+   * Render this template with the given placeholders into UTF-8 encoded bytes.
+   *
+   * @param resolvedPlaceholders the resolved placeholders
+   * @param valueToString        the function converting each placeholder value into its text
+   * @param <F>                  the finalised placeholder type
+   * @return the rendered message, encoded as UTF-8
+   */
+  /* package-private */ <F> byte[] renderUtf8(final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, ? extends CharSequence> valueToString) {
+    final Utf8Output output = UTF8_OUTPUTS.acquire();
+    try {
+      this.renderPooledUtf8(output, resolvedPlaceholders, valueToString);
+      return output.toByteArray();
+    } finally {
+      UTF8_OUTPUTS.release(output);
+    }
+  }
+
+  /**
+   * Render this template with the given placeholders into a buffer, encoded as UTF-8.
+   *
+   * @param target               the buffer to write the encoded message into, from its position onwards
+   * @param resolvedPlaceholders the resolved placeholders
+   * @param valueToString        the function converting each placeholder value into its text
+   * @param <F>                  the finalised placeholder type
+   * @throws java.nio.BufferOverflowException if the buffer has too little room left for the message, in which case
+   *                                          nothing is written into it
+   */
+  /* package-private */ <F> void renderUtf8(final ByteBuffer target,
+      final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, ? extends CharSequence> valueToString) {
+    final Utf8Output output = UTF8_OUTPUTS.acquire();
+    try {
+      this.renderPooledUtf8(output, resolvedPlaceholders, valueToString);
+      output.writeTo(target);
+    } finally {
+      UTF8_OUTPUTS.release(output);
+    }
+  }
+
+  private <F> void renderPooledUtf8(final Utf8Output output, final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, ? extends CharSequence> valueToString) {
+    output.reset();
+    output.ensureCapacity(withSlack(this.utf8LengthHint));
+    this.renderUtf8(output, resolvedPlaceholders, valueToString);
+    this.utf8LengthHint = nextLengthHint(this.utf8LengthHint, output.size());
+  }
+
+  /**
+   * Render this template with the given placeholders into UTF-8 encoded bytes. The literal text of the template is only
+   * encoded once; the placeholder values are encoded as they are written.
+   *
+   * @param output               the buffer to write the encoded message into
+   * @param resolvedPlaceholders the resolved placeholders
+   * @param valueToString        the function converting each placeholder value into its text
+   * @param <F>                  the finalised placeholder type
+   */
+  /* package-private */ <F> void renderUtf8(final Utf8Output output,
+      final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, ? extends CharSequence> valueToString) {
+    final @Nullable ResolvedPlaceholders<?> numbers = numbers(resolvedPlaceholders);
+    final byte[][] utf8Literals = this.utf8Literals();
+    output.write(utf8Literals[0]);
+    for (int idx = 0; idx < this.placeholderNames.length; ++idx) {
+      final String placeholderName = this.placeholderNames[idx];
+      final @Nullable F value = resolvedPlaceholders.get(placeholderName);
+      if (value == null) {
+        output.writeUtf8(this.prefix);
+        output.writeUtf8(placeholderName);
+        output.writeUtf8(this.suffix);
+      } else if (numbers != null && numbers.isNumber(placeholderName)) {
+        output.writeNumber(value);
+      } else {
+        output.writeUtf8(valueToString.apply(value));
+      }
+      output.write(utf8Literals[idx + 1]);
+    }
+  }
+
+  /**
+   * Get the placeholders as {@link ResolvedPlaceholders} if any of them were concluded as numbers.
+   *
+   * @param resolvedPlaceholders the resolved placeholders
+   * @return the placeholders, or {@code null} if none of them are numbers
+   */
+  private static @Nullable ResolvedPlaceholders<?> numbers(final Map<String, ?> resolvedPlaceholders) {
+    return resolvedPlaceholders instanceof final ResolvedPlaceholders<?> placeholders && placeholders.hasNumbers()
+        ? placeholders
+        : null;
+  }
+
+  /**
+   * Append a number in its {@link Object#toString()} form, formatting it straight from the primitive.
+   *
+   * @param builder the builder to append the number to
+   * @param number  the number to append; an {@link Integer}, {@link Long} or {@link Double}
+   */
+  /* package-private */ static void appendNumber(final StringBuilder builder, final Object number) {
+    if (number instanceof final Integer value) {
+      builder.append(value.intValue());
+    } else if (number instanceof final Long value) {
+      builder.append(value.longValue());
+    } else {
+      builder.append(((Double) number).doubleValue());
+    }
+  }
+
+  private static int withSlack(final int lengthHint) {
+    return lengthHint + (lengthHint >> 3);
+  }
+
+  /**
+   * Learn the length of a render: longer renders raise the hint at once, while shorter renders only lower it slowly,
+   * such that messages varying in length rarely need to grow their buffer.
+   */
+  private static int nextLengthHint(final int lengthHint, final int length) {
+    return Math.max(length, lengthHint - (lengthHint >> 4));
+  }
+
+  private byte[][] utf8Literals() {
+    byte @Nullable [][] utf8Literals = this.utf8Literals;
+    if (utf8Literals == null) {
+      utf8Literals = new byte[this.literals.length][];
+      for (int idx = 0; idx < this.literals.length; ++idx) {
+        utf8Literals[idx] = this.literals[idx].getBytes(StandardCharsets.UTF_8);
+      }
+      this.utf8Literals = utf8Literals;
+    }
+    return utf8Literals;
+  }
+
+  /**
+   * Render this template with the given placeholders into an output.
+   *
+   * @param output               the output to append the rendered message to
+   * @param resolvedPlaceholders the resolved placeholders
+   * @param valueToString        the function converting each placeholder value into its text
+   * @param <F>                  the finalised placeholder type
+   * @throws IOException if the output throws
+   */
+  public <F> void renderTo(final Appendable output, final Map<String, ? extends F> resolvedPlaceholders,
+      final Function<? super F, ? extends CharSequence> valueToString) throws IOException {
+    final @Nullable ResolvedPlaceholders<?> numbers = numbers(resolvedPlaceholders);
+    output.append(this.literals[0]);
+    for (int idx = 0; idx < this.placeholderNames.length; ++idx) {
+      final String placeholderName = this.placeholderNames[idx];
+      final @Nullable F value = resolvedPlaceholders.get(placeholderName);
+      if (value == null) {
+        output.append(this.prefix).append(placeholderName).append(this.suffix);
+      } else if (numbers != null && numbers.isNumber(placeholderName)) {
+        if (output instanceof final StringBuilder builder) {
+          appendNumber(builder, value);
+        } else {
+          output.append(value.toString());
+        }
+      } else {
+        output.append(valueToString.apply(value));
+      }
+      output.append(this.literals[idx + 1]);
+    }
+  }
+
+  /**
+   * @return the text this template was parsed from
+   */
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder(this.literalLength + this.placeholderNames.length * 16);
+    builder.append(this.literals[0]);
+    for (int idx = 0; idx < this.placeholderNames.length; ++idx) {
+      builder.append(this.prefix).append(this.placeholderNames[idx]).append(this.suffix);
+      builder.append(this.literals[idx + 1]);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The templates of every message a renderer has rendered, by their text.
+ * <p>
+ * Once full, further messages are parsed on every render; messages are usually a fixed set, so this only guards against
+ * messages built at runtime.
+ * </p>
+ */
+@ThreadSafe
+/* package-private */ final class MessageTemplates {
+  private final String prefix;
+  private final String suffix;
+  private final int maximumTemplates;
+  private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+
+  /**
+   * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum amount of templates is negative
+   */
+  /* package-private */ MessageTemplates(final String prefix, final String suffix, final int maximumTemplates) {
+    if (prefix.isEmpty() || suffix.isEmpty()) {
+      throw new IllegalArgumentException("prefix and suffix must not be empty");
+    }
+    if (maximumTemplates < 0) {
+      throw new IllegalArgumentException("maximumTemplates must not be negative; found " + maximumTemplates);
+    }
+
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.maximumTemplates = maximumTemplates;
+  }
+
+  /* package-private */ MessageTemplate template(final String message) {
+    final @Nullable MessageTemplate template = this.templates.get(message);
+    if (template != null) {
+      return template;
+    }
+
+    final MessageTemplate parsed = MessageTemplate.parse(message, this.prefix, this.suffix);
+    if (this.templates.size() < this.maximumTemplates) {
+      // Racing threads may overshoot the maximum slightly, which is harmless.
+      final @Nullable MessageTemplate raced = this.templates.putIfAbsent(message, parsed);
+      return raced != null ? raced : parsed;
+    }
+    return parsed;
+  }
+}
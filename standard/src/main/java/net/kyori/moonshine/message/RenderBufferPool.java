@@ -0,0 +1,95 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A bounded pool of buffers to render into, shared by every thread.
+ * <p>
+ * The pool is a lock-free array of slots, each holding at most one buffer, which threads are spread over by their id.
+ * Unlike a {@link ThreadLocal}, it holds no more buffers than it has slots however many threads render, such as when
+ * rendering on virtual threads. A buffer is taken out of its slot while in use, so a thread rendering another message
+ * meanwhile, or another thread sharing the slot, creates a buffer of its own.
+ * </p>
+ *
+ * @param <T> the buffer type
+ */
+@ThreadSafe
+/* package-private */ final class RenderBufferPool<T> {
+  private final Supplier<T> factory;
+  private final ToIntFunction<T> capacity;
+  private final int maximumRetainedCapacity;
+  private final AtomicReferenceArray<@Nullable T> slots;
+  private final int mask;
+
+  /**
+   * @param factory                 the function creating new buffers
+   * @param capacity                the function finding the capacity of a buffer
+   * @param maximumRetainedCapacity the largest capacity of buffers to retain; larger buffers are dropped after use
+   */
+  /* package-private */ RenderBufferPool(final Supplier<T> factory, final ToIntFunction<T> capacity,
+      final int maximumRetainedCapacity) {
+    this.factory = factory;
+    this.capacity = capacity;
+    this.maximumRetainedCapacity = maximumRetainedCapacity;
+
+    // At least twice as many slots as processors, so threads running at once rarely share one.
+    final int slotCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1);
+    this.slots = new AtomicReferenceArray<>(slotCount);
+    this.mask = slotCount - 1;
+  }
+
+  /**
+   * Take a buffer out of the pool, or create one if there is none to take.
+   *
+   * @return the buffer, which is to be {@link #release(Object) released} once done with
+   */
+  /* package-private */ T acquire() {
+    final int slot = this.slot();
+    if (this.slots.get(slot) != null) {
+      final @Nullable T buffer = this.slots.getAndSet(slot, null);
+      if (buffer != null) {
+        return buffer;
+      }
+    }
+
+    return this.factory.get();
+  }
+
+  /**
+   * Return a buffer to the pool, if there is room for it.
+   *
+   * @param buffer the buffer to return, which must not be used anymore
+   */
+  /* package-private */ void release(final T buffer) {
+    if (this.capacity.applyAsInt(buffer) <= this.maximumRetainedCapacity) {
+      this.slots.compareAndSet(this.slot(), null, buffer);
+    }
+  }
+
+  @SuppressWarnings("deprecation") // Thread#threadId() is yet to be available.
+  private int slot() {
+    final long id = Thread.currentThread().getId();
+    return (int) (id ^ (id >>> 32)) & this.mask;
+  }
+}
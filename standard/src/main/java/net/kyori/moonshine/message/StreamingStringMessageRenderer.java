@@ -0,0 +1,97 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+
+/**
+ * A formatter for strings with {@code "${prefix}${name}${suffix}"} placeholders, like {@link
+ * CompiledStringMessageRenderer}, which renders into {@link IStreamedMessage}s. The rendered text is only written out
+ * once the message is sent, such as by an {@link IStreamingMessageSender}.
+ * <p>
+ * Messages written {@link IStreamedMessage#writeUtf8To(ByteBuffer) as UTF-8} are encoded like those of a {@link
+ * Utf8StringMessageRenderer}, without the rendered message ever existing as a {@link String}.
+ * </p>
+ *
+ * @param <R> the eventual receiver type of this message
+ * @param <I> the intermediate message type
+ * @param <F> the finalised placeholder type
+ */
+@ThreadSafe
+public final class StreamingStringMessageRenderer<R, I, F>
+    extends AbstractTemplateMessageRenderer<R, I, IStreamedMessage, F> {
+  private final Function<F, ? extends CharSequence> placeholderValueToStringConverter;
+
+  public StreamingStringMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter,
+      final Function<F, ? extends CharSequence> placeholderValueToStringConverter) {
+    this(prefix, suffix, intermediateToStringConverter, placeholderValueToStringConverter,
+        CompiledStringMessageRenderer.DEFAULT_MAXIMUM_TEMPLATES);
+  }
+
+  /**
+   * @param prefix                            the prefix of every placeholder
+   * @param suffix                            the suffix of every placeholder
+   * @param intermediateToStringConverter     the function converting intermediate messages into their text
+   * @param placeholderValueToStringConverter the function converting placeholder values into their text
+   * @param maximumTemplates                  the maximum amount of templates to keep
+   * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum amount of templates is negative
+   */
+  public StreamingStringMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter,
+      final Function<F, ? extends CharSequence> placeholderValueToStringConverter, final int maximumTemplates) {
+    super(prefix, suffix, intermediateToStringConverter, maximumTemplates);
+    this.placeholderValueToStringConverter = placeholderValueToStringConverter;
+  }
+
+  @Override
+  public IStreamedMessage render(
+      final R receiver,
+      final I intermediateMessage,
+      final Map<String, ? extends F> resolvedPlaceholders,
+      final Method method,
+      final Type owner
+  ) {
+    return new StreamedTemplate<>(this.template(intermediateMessage), resolvedPlaceholders,
+        this.placeholderValueToStringConverter);
+  }
+
+  /**
+   * A template to be rendered with its placeholders once written out.
+   */
+  private record StreamedTemplate<F>(
+      MessageTemplate template,
+      Map<String, ? extends F> resolvedPlaceholders,
+      Function<F, ? extends CharSequence> valueToString) implements IStreamedMessage {
+    @Override
+    public void writeTo(final Appendable output) throws IOException {
+      this.template.renderTo(output, this.resolvedPlaceholders, this.valueToString);
+    }
+
+    @Override
+    public void writeUtf8To(final ByteBuffer output) {
+      this.template.renderUtf8(output, this.resolvedPlaceholders, this.valueToString);
+    }
+  }
+}
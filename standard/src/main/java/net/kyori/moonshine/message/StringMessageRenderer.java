@@ -19,9 +19,12 @@ package net.kyori.moonshine.message;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A standard formatter for strings using {@link String#replace(CharSequence, CharSequence)} with {@code
@@ -51,4 +54,28 @@ public record StringMessageRenderer<R, I, O, F>(
     }
     return this.stringToOutputConverter.apply(intermediate);
   }
+
+  @Override
+  public @Nullable Set<String> placeholderNames(final I intermediateMessage) {
+    if (this.prefix.isEmpty() || this.suffix.isEmpty()) {
+      // Any part of the message could be a name.
+      return null;
+    }
+
+    final String intermediate = this.intermediateToStringConverter.apply(intermediateMessage);
+    final Set<String> placeholderNames = new HashSet<>();
+    int prefixIndex = intermediate.indexOf(this.prefix);
+    while (prefixIndex != -1) {
+      final int nameIndex = prefixIndex + this.prefix.length();
+      final int suffixIndex = intermediate.indexOf(this.suffix, nameIndex);
+      if (suffixIndex == -1) {
+        break;
+      }
+
+      // Prefixes within a name may start another name, e.g. "b" of "{a{b}", so keep looking from the next character.
+      placeholderNames.add(intermediate.substring(nameIndex, suffixIndex));
+      prefixIndex = intermediate.indexOf(this.prefix, prefixIndex + 1);
+    }
+    return placeholderNames;
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.util.Objects;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.exception.MissingMessageException;
+import net.kyori.moonshine.internal.SegmentedLruCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A decorator for a {@link IMessageSource} of strings which parses each message into a {@link MessageTemplate} once,
+ * caching the template by its message key and the group of the receiver, such as their locale.
+ * <p>
+ * The templates are the intermediate messages of this source; the string renderers of this package render them as they
+ * are, without parsing or looking up the message again. The templates must use the prefix and suffix of the renderer.
+ * </p>
+ * <p>
+ * Once more than the maximum amount of templates are cached, the least recently used templates are evicted. When the
+ * messages of the delegate change, such as when translations are reloaded, the affected templates must be
+ * {@link #invalidate(String) invalidated}; templates parsed from messages sourced while they are invalidated are not
+ * cached, such that invalidating always wins.
+ * </p>
+ *
+ * @param <R> the receiver type
+ */
+@ThreadSafe
+public final class TemplateCachingMessageSource<R> implements IMessageSource<R, MessageTemplate> {
+  private final IMessageSource<R, String> delegate;
+  private final Function<? super R, ?> receiverGroup;
+  private final String prefix;
+  private final String suffix;
+  private final SegmentedLruCache<Key, MessageTemplate> templates;
+
+  /**
+   * @param delegate      the source of the messages to parse
+   * @param receiverGroup the function deriving the group of the receiver, which the messages of the delegate depend on;
+   *                      if they do not depend on the receiver, this may return a constant
+   * @param prefix        the prefix of every placeholder
+   * @param suffix        the suffix of every placeholder
+   * @param maximumSize   the maximum amount of templates to cache
+   * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum size is not positive
+   */
+  public TemplateCachingMessageSource(final IMessageSource<R, String> delegate,
+      final Function<? super R, ?> receiverGroup, final String prefix, final String suffix, final int maximumSize) {
+    if (prefix.isEmpty() || suffix.isEmpty()) {
+      throw new IllegalArgumentException("prefix and suffix must not be empty");
+    }
+
+    this.delegate = delegate;
+    this.receiverGroup = receiverGroup;
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.templates = new SegmentedLruCache<>(maximumSize);
+  }
+
+  @Override
+  public MessageTemplate messageOf(final R receiver, final String messageKey) throws MissingMessageException {
+    final Key key = new Key(this.receiverGroup.apply(receiver), messageKey);
+    final @Nullable MessageTemplate template = this.templates.get(key);
+    if (template != null) {
+      return template;
+    }
+
+    final long stamp = this.templates.stamp(key);
+    final MessageTemplate parsed = MessageTemplate.parse(this.delegate.messageOf(receiver, messageKey), this.prefix,
+        this.suffix);
+    this.templates.putIfUnchanged(key, parsed, stamp);
+    return parsed;
+  }
+
+  /**
+   * Invalidate the templates of a message, for every group of receivers.
+   *
+   * @param messageKey the key of the message
+   */
+  public void invalidate(final String messageKey) {
+    this.templates.invalidateIf(key -> key.messageKey().equals(messageKey));
+  }
+
+  /**
+   * Invalidate the templates of every message for a group of receivers.
+   *
+   * @param receiverGroup the group of receivers, as derived from the receiver
+   */
+  public void invalidateGroup(final @Nullable Object receiverGroup) {
+    this.templates.invalidateIf(key -> Objects.equals(key.receiverGroup(), receiverGroup));
+  }
+
+  /**
+   * Invalidate every template.
+   */
+  public void invalidateAll() {
+    this.templates.invalidateAll();
+  }
+
+  /**
+   * @return the amount of templates cached
+   */
+  public int size() {
+    return this.templates.size();
+  }
+
+  private record Key(@Nullable Object receiverGroup, String messageKey) {
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import net.kyori.moonshine.annotation.meta.NotThreadSafe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A growable buffer of UTF-8 encoded bytes, which text is encoded into directly, without an intermediate {@link
+ * String}.
+ */
+@NotThreadSafe
+/* package-private */ final class Utf8Output {
+  private byte[] bytes;
+  private int size;
+
+  /**
+   * The builder numbers are formatted into before they are encoded, reused for as long as this buffer is.
+   */
+  private @Nullable StringBuilder numberBuilder;
+
+  /* package-private */ Utf8Output(final int initialCapacity) {
+    this.bytes = new byte[initialCapacity];
+  }
+
+  /* package-private */ int capacity() {
+    return this.bytes.length;
+  }
+
+  /* package-private */ int size() {
+    return this.size;
+  }
+
+  /* package-private */ void reset() {
+    this.size = 0;
+  }
+
+  /* package-private */ void write(final byte[] encoded) {
+    this.ensureCapacity(this.size + encoded.length);
+    System.arraycopy(encoded, 0, this.bytes, this.size, encoded.length);
+    this.size += encoded.length;
+  }
+
+  /**
+   * Encode text into this buffer. Unpaired surrogates are encoded as {@code '?'}, as {@link String#getBytes} does.
+   *
+   * @param text the text to encode
+   */
+  /* package-private */ void writeUtf8(final CharSequence text) {
+    final int length = text.length();
+    // No char takes more than 3 bytes; a surrogate pair takes 4 bytes for 2 chars.
+    this.ensureCapacity(this.size + length * 3);
+    final byte[] bytes = this.bytes;
+    int position = this.size;
+    for (int idx = 0; idx < length; ++idx) {
+      final char character = text.charAt(idx);
+      if (character < 0x80) {
+        bytes[position++] = (byte) character;
+      } else if (character < 0x800) {
+        bytes[position++] = (byte) (0xC0 | (character >> 6));
+        bytes[position++] = (byte) (0x80 | (character & 0x3F));
+      } else if (Character.isHighSurrogate(character) && idx + 1 < length
+          && Character.isLowSurrogate(text.charAt(idx + 1))) {
+        final int codePoint = Character.toCodePoint(character, text.charAt(++idx));
+        bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(character)) {
+        bytes[position++] = '?';
+      } else {
+        bytes[position++] = (byte) (0xE0 | (character >> 12));
+        bytes[position++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+        bytes[position++] = (byte) (0x80 | (character & 0x3F));
+      }
+    }
+    this.size = position;
+  }
+
+  /**
+   * Encode a number into this buffer in its {@link Object#toString()} form, formatting it straight from the primitive.
+   *
+   * @param number the number to encode; an {@link Integer}, {@link Long} or {@link Double}
+   */
+  /* package-private */ void writeNumber(final Object number) {
+    StringBuilder numberBuilder = this.numberBuilder;
+    if (numberBuilder == null) {
+      numberBuilder = this.numberBuilder = new StringBuilder(24);
+    }
+    numberBuilder.setLength(0);
+    MessageTemplate.appendNumber(numberBuilder, number);
+    this.writeUtf8(numberBuilder);
+  }
+
+  /**
+   * Copy the encoded bytes into a buffer.
+   *
+   * @param target the buffer to copy into, from its position onwards
+   * @throws java.nio.BufferOverflowException if the buffer has too little room left, in which case nothing is copied
+   */
+  /* package-private */ void writeTo(final ByteBuffer target) {
+    target.put(this.bytes, 0, this.size);
+  }
+
+  /* package-private */ byte[] toByteArray() {
+    return Arrays.copyOf(this.bytes, this.size);
+  }
+
+  /* package-private */ void ensureCapacity(final int capacity) {
+    if (capacity > this.bytes.length) {
+      this.bytes = Arrays.copyOf(this.bytes, Math.max(capacity, this.bytes.length * 2));
+    }
+  }
+}
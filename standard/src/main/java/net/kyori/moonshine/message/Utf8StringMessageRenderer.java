@@ -0,0 +1,76 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.function.Function;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+
+/**
+ * A formatter for strings with {@code "${prefix}${name}${suffix}"} placeholders, like {@link
+ * CompiledStringMessageRenderer}, which renders straight into UTF-8 encoded bytes.
+ * <p>
+ * The literal text of every message is encoded once, and placeholder values are encoded as they are written, such that
+ * the rendered message never exists as a {@link String}. The bytes are encoded into pooled buffers, sized by the
+ * length of earlier renders of the same message.
+ * </p>
+ *
+ * @param <R> the eventual receiver type of this message
+ * @param <I> the intermediate message type
+ * @param <F> the finalised placeholder type
+ */
+@ThreadSafe
+public final class Utf8StringMessageRenderer<R, I, F> extends AbstractTemplateMessageRenderer<R, I, byte[], F> {
+  private final Function<F, ? extends CharSequence> placeholderValueToStringConverter;
+
+  public Utf8StringMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter,
+      final Function<F, ? extends CharSequence> placeholderValueToStringConverter) {
+    this(prefix, suffix, intermediateToStringConverter, placeholderValueToStringConverter,
+        CompiledStringMessageRenderer.DEFAULT_MAXIMUM_TEMPLATES);
+  }
+
+  /**
+   * @param prefix                            the prefix of every placeholder
+   * @param suffix                            the suffix of every placeholder
+   * @param intermediateToStringConverter     the function converting intermediate messages into their text
+   * @param placeholderValueToStringConverter the function converting placeholder values into their text
+   * @param maximumTemplates                  the maximum amount of templates to keep
+   * @throws IllegalArgumentException if the prefix or suffix is empty, or the maximum amount of templates is negative
+   */
+  public Utf8StringMessageRenderer(final String prefix, final String suffix,
+      final Function<I, String> intermediateToStringConverter,
+      final Function<F, ? extends CharSequence> placeholderValueToStringConverter, final int maximumTemplates) {
+    super(prefix, suffix, intermediateToStringConverter, maximumTemplates);
+    this.placeholderValueToStringConverter = placeholderValueToStringConverter;
+  }
+
+  @Override
+  public byte[] render(
+      final R receiver,
+      final I intermediateMessage,
+      final Map<String, ? extends F> resolvedPlaceholders,
+      final Method method,
+      final Type owner
+  ) {
+    return this.template(intermediateMessage).renderUtf8(resolvedPlaceholders,
+        this.placeholderValueToStringConverter);
+  }
+}
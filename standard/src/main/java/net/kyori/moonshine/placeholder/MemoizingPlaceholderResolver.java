@@ -0,0 +1,150 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.internal.SegmentedLruCache;
+import net.kyori.moonshine.util.Either;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A decorator for a {@link IPlaceholderResolver} which memoizes its results by the name of the placeholder, its value,
+ * and a key derived from the receiver, such as its locale.
+ * <p>
+ * The delegate must resolve equal values for equal receiver keys into equal results, regardless of the method invoked
+ * and the other parameters passed to it, and the values must be usable as map keys. Results are evicted once more than
+ * the maximum amount of results are memoized, roughly least recently used first, and once they are older than the
+ * expiry. The results are split into segments which each have their own lock, such that threads resolving different
+ * values rarely contend.
+ * </p>
+ * <p>
+ * To memoize the results of a resolver, register it wrapped in this decorator.
+ * </p>
+ *
+ * @param <R> the receiver type
+ * @param <P> the input placeholder type, or a supertype thereof
+ * @param <F> the finalised placeholder type
+ */
+@ThreadSafe
+public final class MemoizingPlaceholderResolver<R, P, F> implements IPlaceholderResolver<R, P, F> {
+  private final IPlaceholderResolver<R, P, F> delegate;
+  private final Function<? super R, ?> receiverKey;
+  private final long expiryNanos;
+  private final LongSupplier nanoClock;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private final SegmentedLruCache<Key, Memoized<F>> memoized;
+
+  /**
+   * Memoize the results of a resolver.
+   *
+   * @param delegate    the resolver to memoize the results of
+   * @param receiverKey the function deriving a key from the receiver, which the results of the resolver depend on; if
+   *                    they do not depend on the receiver, this may return a constant
+   * @param maximumSize the maximum amount of results to memoize
+   * @param expiry      how long to memoize each result for
+   * @throws IllegalArgumentException if the maximum size or the expiry is not positive
+   */
+  public MemoizingPlaceholderResolver(final IPlaceholderResolver<R, P, F> delegate,
+      final Function<? super R, ?> receiverKey, final int maximumSize, final Duration expiry) {
+    this(delegate, receiverKey, maximumSize, expiry, System::nanoTime);
+  }
+
+  /* package-private */ MemoizingPlaceholderResolver(final IPlaceholderResolver<R, P, F> delegate,
+      final Function<? super R, ?> receiverKey, final int maximumSize, final Duration expiry,
+      final LongSupplier nanoClock) {
+    if (expiry.isNegative() || expiry.isZero()) {
+      throw new IllegalArgumentException("expiry must be positive; found " + expiry);
+    }
+
+    this.delegate = delegate;
+    this.receiverKey = receiverKey;
+    this.expiryNanos = expiry.toNanos();
+    this.nanoClock = nanoClock;
+    this.memoized = new SegmentedLruCache<>(maximumSize);
+  }
+
+  @Override
+  public @Nullable Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>> resolve(
+      final String placeholderName, final P value, final R receiver, final Type owner,
+      final Method method, final @Nullable Object[] parameters) {
+    final Key key = new Key(placeholderName, value, this.receiverKey.apply(receiver));
+    final long now = this.nanoClock.getAsLong();
+
+    final @Nullable Memoized<F> memoized = this.memoized.get(key);
+    if (memoized != null) {
+      if (now - memoized.memoizedAt() < this.expiryNanos) {
+        this.hits.increment();
+        return memoized.result();
+      }
+      this.memoized.remove(key, memoized);
+    }
+
+    // The delegate may be expensive, so no lock is held meanwhile; a result resolved across a clear is not memoized.
+    this.misses.increment();
+    final long stamp = this.memoized.stamp(key);
+    final @Nullable Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>> result =
+        this.delegate.resolve(placeholderName, value, receiver, owner, method, parameters);
+    this.memoized.putIfUnchanged(key, new Memoized<>(result, now), stamp);
+    return result;
+  }
+
+  /**
+   * @return how many times a memoized result was used
+   */
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * @return how many times the delegate was invoked, as no result was memoized
+   */
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * @return how many results are memoized, including any expired results yet to be evicted
+   */
+  public int size() {
+    return this.memoized.size();
+  }
+
+  /**
+   * Evict every memoized result.
+   */
+  public void clear() {
+    this.memoized.invalidateAll();
+  }
+
+  private record Key(String placeholderName, Object value, @Nullable Object receiverKey) {
+  }
+
+  private record Memoized<F>(
+      @Nullable Map<String, Either<ConclusionValue<? extends F>, ContinuanceValue<?>>> result,
+      long memoizedAt) {
+  }
+}
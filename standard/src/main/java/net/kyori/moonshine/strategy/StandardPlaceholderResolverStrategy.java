@@ -17,34 +17,123 @@
  */
 package net.kyori.moonshine.strategy;
 
-import static java.util.Collections.emptyNavigableSet;
-
 import io.leangen.geantyref.GenericTypeReflector;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import net.kyori.moonshine.Moonshine;
 import net.kyori.moonshine.annotation.Placeholder;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
+import net.kyori.moonshine.exception.CyclicPlaceholderException;
+import net.kyori.moonshine.exception.PlaceholderExpansionDepthException;
 import net.kyori.moonshine.exception.PlaceholderResolvingException;
 import net.kyori.moonshine.exception.UnfinishedPlaceholderException;
-import net.kyori.moonshine.internal.PrefixedDelegateIterator;
+import net.kyori.moonshine.message.IMessageRenderer;
 import net.kyori.moonshine.model.MoonshineMethod;
 import net.kyori.moonshine.placeholder.ContinuanceValue;
+import net.kyori.moonshine.placeholder.IAsyncPlaceholderResolver;
 import net.kyori.moonshine.placeholder.IPlaceholderResolver;
+import net.kyori.moonshine.placeholder.IPlaceholderSink;
+import net.kyori.moonshine.placeholder.ISinkPlaceholderResolver;
+import net.kyori.moonshine.placeholder.ResolvedPlaceholders;
 import net.kyori.moonshine.strategy.supertype.ISupertypeStrategy;
+import net.kyori.moonshine.util.Weighted;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 @ThreadSafe
 public final class StandardPlaceholderResolverStrategy<R, I, F> implements
     IPlaceholderResolverStrategy<R, I, F> {
+  /**
+   * The default maximum amount of times a placeholder may be expanded into further placeholders.
+   */
+  public static final int DEFAULT_MAXIMUM_EXPANSION_DEPTH = 32;
+
   private final ISupertypeStrategy supertypeStrategy;
+  private final int maximumExpansionDepth;
+  private final boolean skipUnusedPlaceholders;
+  private final boolean validateContinuances;
 
   public StandardPlaceholderResolverStrategy(final ISupertypeStrategy supertypeStrategy) {
+    this(supertypeStrategy, DEFAULT_MAXIMUM_EXPANSION_DEPTH);
+  }
+
+  /**
+   * @param supertypeStrategy     the strategy for the hierarchy of types to find placeholder resolvers for
+   * @param maximumExpansionDepth the maximum amount of times a placeholder may be expanded into further placeholders,
+   *                              through {@link ContinuanceValue}s, before resolving fails
+   */
+  public StandardPlaceholderResolverStrategy(final ISupertypeStrategy supertypeStrategy,
+      final int maximumExpansionDepth) {
+    this(supertypeStrategy, maximumExpansionDepth, false);
+  }
+
+  /**
+   * @param supertypeStrategy      the strategy for the hierarchy of types to find placeholder resolvers for
+   * @param maximumExpansionDepth  the maximum amount of times a placeholder may be expanded into further placeholders,
+   *                               through {@link ContinuanceValue}s, before resolving fails
+   * @param skipUnusedPlaceholders whether to skip resolving placeholders the intermediate message does not use, as
+   *                               found by {@link IMessageRenderer#placeholderNames(Object)}; a placeholder is used if
+   *                               any used name starts with its name, so this requires every resolver to prefix the
+   *                               names of the placeholders it expands into with the name of the placeholder it
+   *                               resolves
+   */
+  public StandardPlaceholderResolverStrategy(final ISupertypeStrategy supertypeStrategy,
+      final int maximumExpansionDepth, final boolean skipUnusedPlaceholders) {
+    this(supertypeStrategy, maximumExpansionDepth, skipUnusedPlaceholders, true);
+  }
+
+  /**
+   * @param supertypeStrategy      the strategy for the hierarchy of types to find placeholder resolvers for
+   * @param maximumExpansionDepth  the maximum amount of times a placeholder may be expanded into further placeholders,
+   *                               through {@link ContinuanceValue}s, before resolving fails
+   * @param skipUnusedPlaceholders whether to skip resolving placeholders the intermediate message does not use, as
+   *                               found by {@link IMessageRenderer#placeholderNames(Object)}; a placeholder is used if
+   *                               any used name starts with its name, so this requires every resolver to prefix the
+   *                               names of the placeholders it expands into with the name of the placeholder it
+   *                               resolves
+   * @param validateContinuances   whether to ensure every value continued with through an {@link IPlaceholderSink} is
+   *                               assignable to the type it is to be resolved as; this is best left on during
+   *                               development and tests, and may be turned off in production once every resolver is
+   *                               known to continue with assignable values
+   */
+  public StandardPlaceholderResolverStrategy(final ISupertypeStrategy supertypeStrategy,
+      final int maximumExpansionDepth, final boolean skipUnusedPlaceholders, final boolean validateContinuances) {
+    if (maximumExpansionDepth < 0) {
+      throw new IllegalArgumentException("maximumExpansionDepth must not be negative; found " + maximumExpansionDepth);
+    }
+
     this.supertypeStrategy = supertypeStrategy;
+    this.maximumExpansionDepth = maximumExpansionDepth;
+    this.skipUnusedPlaceholders = skipUnusedPlaceholders;
+    this.validateContinuances = validateContinuances;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This finds the placeholders of the method, and the resolvers of every placeholder whose declared type is final,
+   * such as {@link String} or a record, which can thus be resolved without looking at the class of each value.
+   * </p>
+   */
+  @Override
+  public Object prepare(final Moonshine<R, I, ?, F> moonshine, final MoonshineMethod<? extends R> moonshineMethod) {
+    return new MethodPlaceholders(this.supertypeStrategy, moonshine.weightedPlaceholderResolvers(), moonshineMethod);
   }
 
   @Override
@@ -57,99 +146,593 @@ public final class StandardPlaceholderResolverStrategy<R, I, F> implements
       return Collections.emptyMap();
     }
 
-    final Map<String, F> finalisedPlaceholders = new LinkedHashMap<>(parameters.length);
-    final Map<String, ContinuanceValue<?>> resolvingPlaceholders = new LinkedHashMap<>(16);
-    final Parameter[] methodParameters = moonshineMethod.reflectMethod().getParameters();
-    final Type[] exactParameterTypes = GenericTypeReflector.getParameterTypes(
-        moonshineMethod.reflectMethod(), moonshine.proxiedType());
+    final MethodPlaceholders methodPlaceholders = this.methodPlaceholders(moonshine, moonshineMethod);
+    final @Nullable Set<String> usedPlaceholderNames = this.usedPlaceholderNames(moonshine, intermediateText);
+    final ResolvedPlaceholders<F> finalisedPlaceholders = new ResolvedPlaceholders<>(parameters.length);
+
+    this.resolvePlaceholders(receiver, finalisedPlaceholders,
+        this.pendingParameters(methodPlaceholders, usedPlaceholderNames, parameters), methodPlaceholders,
+        usedPlaceholderNames, moonshineMethod, parameters);
 
-    for (int idx = 0; idx < parameters.length; ++idx) {
-      final Parameter parameter = methodParameters[idx];
-      final @Nullable Object value = parameters[idx];
+    return finalisedPlaceholders;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Every placeholder is resolved as soon as it is known, without waiting on any other placeholder; the placeholders
+   * {@link IAsyncPlaceholderResolver resolved asynchronously} are thus resolved concurrently. Placeholders resolved
+   * synchronously are resolved on the thread which completed the placeholder they expanded from, if any, or the calling
+   * thread otherwise.
+   * </p>
+   */
+  @Override
+  public CompletableFuture<Map<String, ? extends F>> resolvePlaceholdersAsync(final Moonshine<R, I, ?, F> moonshine,
+      final R receiver, final I intermediateText, final MoonshineMethod<? extends R> moonshineMethod,
+      final @Nullable Object[] parameters) {
+    if (parameters.length == 0) {
+      return CompletableFuture.completedFuture(Collections.emptyMap());
+    }
+
+    final MethodPlaceholders methodPlaceholders = this.methodPlaceholders(moonshine, moonshineMethod);
+    final @Nullable Set<String> usedPlaceholderNames = this.usedPlaceholderNames(moonshine, intermediateText);
+    final AsyncResolution resolution = new AsyncResolution(receiver, methodPlaceholders, usedPlaceholderNames,
+        moonshineMethod, parameters);
+    resolution.start(this.pendingParameters(methodPlaceholders, usedPlaceholderNames, parameters));
+    return resolution.result;
+  }
+
+  private @Nullable Set<String> usedPlaceholderNames(final Moonshine<R, I, ?, F> moonshine,
+      final I intermediateText) {
+    return this.skipUnusedPlaceholders
+        ? moonshine.messageRenderer().placeholderNames(intermediateText)
+        : null;
+  }
+
+  /**
+   * Find the placeholders to resolve of the parameters of an invocation.
+   *
+   * @param methodPlaceholders   the placeholders of the method invoked
+   * @param usedPlaceholderNames the names of the placeholders used by the message, or {@code null} if unknown
+   * @param parameters           the parameters of the invocation
+   * @return the placeholders to resolve
+   */
+  private Deque<PendingPlaceholder> pendingParameters(final MethodPlaceholders methodPlaceholders,
+      final @Nullable Set<String> usedPlaceholderNames, final @Nullable Object[] parameters) {
+    final Deque<PendingPlaceholder> resolvingPlaceholders = new ArrayDeque<>(16);
+    for (final PlaceholderSlot slot : methodPlaceholders.slots) {
+      final @Nullable Object value = parameters[slot.parameterIndex];
       if (value == null) {
         // Nothing to resolve with.
         continue;
       }
-
-      final Type parameterType = GenericTypeReflector.getExactSubType(
-          exactParameterTypes[idx], value.getClass());
-
-      final @Nullable Placeholder placeholder = parameter.getAnnotation(Placeholder.class);
-      if (placeholder == null) {
-        // Nothing to resolve.
+      if (!isUsed(usedPlaceholderNames, slot.placeholderName)) {
+        // Nothing would use the result.
         continue;
       }
 
-      final String placeholderName = placeholder.value().isEmpty()
-          ? parameter.getName()
-          : placeholder.value();
-      resolvingPlaceholders
-          .put(placeholderName, ContinuanceValue.continuanceValue(value, parameterType));
+      resolvingPlaceholders.add(new PendingPlaceholder(slot.placeholderName, value, slot.resolverChain(value), null,
+          0));
     }
+    return resolvingPlaceholders;
+  }
 
-    this.resolvePlaceholder(moonshine, receiver, finalisedPlaceholders,
-        resolvingPlaceholders, moonshineMethod, parameters);
+  /**
+   * Check whether a placeholder, or any placeholder it may expand into, is used.
+   *
+   * @param usedPlaceholderNames the names of the placeholders used, or {@code null} if unknown
+   * @param placeholderName      the name of the placeholder
+   * @return whether the placeholder is used
+   */
+  private static boolean isUsed(final @Nullable Set<String> usedPlaceholderNames, final String placeholderName) {
+    if (usedPlaceholderNames == null || usedPlaceholderNames.contains(placeholderName)) {
+      return true;
+    }
 
-    return finalisedPlaceholders;
+    for (final String usedPlaceholderName : usedPlaceholderNames) {
+      if (usedPlaceholderName.startsWith(placeholderName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get the placeholders of a method, as prepared when it was scanned, or building them if it was scanned for another
+   * strategy.
+   *
+   * @param moonshine       the moonshine instance
+   * @param moonshineMethod the method to get the placeholders of
+   * @return the placeholders of the method
+   */
+  private MethodPlaceholders methodPlaceholders(final Moonshine<R, I, ?, F> moonshine,
+      final MoonshineMethod<?> moonshineMethod) {
+    if (moonshineMethod.preparedPlaceholders() instanceof final MethodPlaceholders placeholders
+        && placeholders.supertypeStrategy == this.supertypeStrategy) {
+      return placeholders;
+    }
+
+    return new MethodPlaceholders(this.supertypeStrategy, moonshine.weightedPlaceholderResolvers(), moonshineMethod);
   }
 
   /**
-   * Resolve a single placeholder.
+   * Resolve every pending placeholder, each exactly once, in the order they are found in.
    *
-   * @param moonshine             the moonshine instance
    * @param finalisedPlaceholders the finalised placeholders
    * @param resolvingPlaceholders the placeholders to resolve
-   * @param moonshineMethod       the method we are resolving a placeholder for
+   * @param methodPlaceholders    the placeholders of the method we are resolving placeholders for
+   * @param usedPlaceholderNames  the names of the placeholders used by the message, or {@code null} if unknown
+   * @param moonshineMethod       the method we are resolving placeholders for
    */
-  private void resolvePlaceholder(final Moonshine<R, I, ?, F> moonshine, final R receiver,
-      final Map<String, F> finalisedPlaceholders,
-      final Map<String, ContinuanceValue<?>> resolvingPlaceholders,
+  private void resolvePlaceholders(final R receiver,
+      final ResolvedPlaceholders<F> finalisedPlaceholders,
+      final Deque<PendingPlaceholder> resolvingPlaceholders,
+      final MethodPlaceholders methodPlaceholders,
+      final @Nullable Set<String> usedPlaceholderNames,
       final MoonshineMethod<? extends R> moonshineMethod, final @Nullable Object[] parameters)
-      throws UnfinishedPlaceholderException {
-    final var weightedPlaceholderResolvers = moonshine.weightedPlaceholderResolvers();
+      throws PlaceholderResolvingException {
+    final Type owner = moonshineMethod.owner().getType();
+    final Method method = moonshineMethod.reflectMethod();
+    final ResolvingSink sink = new ResolvingSink(finalisedPlaceholders, resolvingPlaceholders, methodPlaceholders,
+        usedPlaceholderNames, moonshineMethod);
 
-    // Shamelessly stealing ~~kashike's~~ mbaxter's joke
-    dancing:
     while (!resolvingPlaceholders.isEmpty()) {
-      final var resolvingPlaceholderIterator = resolvingPlaceholders.entrySet().iterator();
-      while (resolvingPlaceholderIterator.hasNext()) {
-        final var continuanceEntry = resolvingPlaceholderIterator.next();
-        final String continuancePlaceholderName = continuanceEntry.getKey();
-        final Type type = continuanceEntry.getValue().type();
-        final Object value = continuanceEntry.getValue().value();
-
-        final Iterator<Type> hierarchyIterator =
-            new PrefixedDelegateIterator<>(type, this.supertypeStrategy.hierarchyIterator(type));
-        while (hierarchyIterator.hasNext()) {
-          final Type supertype = hierarchyIterator.next();
-
-          for (final var weighted : weightedPlaceholderResolvers.getOrDefault(supertype, emptyNavigableSet())) {
+      final PendingPlaceholder pending = resolvingPlaceholders.poll();
+      sink.resolving = pending;
+
+      if (!this.resolvePlaceholder(receiver, pending, owner, method, parameters, sink)) {
+        throw new UnfinishedPlaceholderException(moonshineMethod, pending.name, pending.value);
+      }
+      if (sink.failure != null) {
+        throw sink.failure;
+      }
+    }
+  }
+
+  /**
+   * Resolve a single placeholder with the first resolver of its chain that wants to resolve it.
+   *
+   * @param pending the placeholder to resolve
+   * @param sink    the sink to write the resolved placeholder(s) into
+   * @return whether any resolver wanted to resolve it
+   */
+  private boolean resolvePlaceholder(final R receiver, final PendingPlaceholder pending, final Type owner,
+      final Method method, final @Nullable Object[] parameters, final ResolvingSink sink) {
+    for (final ISinkPlaceholderResolver<?, ?, ?> resolver : pending.resolverChain) {
+      @SuppressWarnings("unchecked") // This should be equivalent.
+      final var placeholderResolver = (ISinkPlaceholderResolver<R, Object, F>) resolver;
+
+      if (placeholderResolver.resolve(pending.name, pending.value, receiver, owner, method, parameters, sink)) {
+        return true;
+      }
+
+      // The resolver did not want to resolve this; pass it on.
+    }
+
+    return false;
+  }
+
+  /**
+   * The sink of every resolver invoked while resolving the placeholders of a single invocation, which finalises
+   * concluded placeholders and queues continued placeholders.
+   */
+  private class ResolvingSink implements IPlaceholderSink<F> {
+    /* package-private */ final ResolvedPlaceholders<F> finalisedPlaceholders;
+    private final Deque<PendingPlaceholder> resolvingPlaceholders;
+    private final MethodPlaceholders methodPlaceholders;
+    private final @Nullable Set<String> usedPlaceholderNames;
+    private final MoonshineMethod<?> moonshineMethod;
+
+    /**
+     * The placeholder currently being resolved.
+     */
+    private @MonotonicNonNull PendingPlaceholder resolving;
+
+    /**
+     * The first failure to continue resolving a placeholder; resolvers cannot throw these themselves.
+     */
+    private @Nullable PlaceholderResolvingException failure;
+
+    /* package-private */ ResolvingSink(final ResolvedPlaceholders<F> finalisedPlaceholders,
+        final Deque<PendingPlaceholder> resolvingPlaceholders, final MethodPlaceholders methodPlaceholders,
+        final @Nullable Set<String> usedPlaceholderNames, final MoonshineMethod<?> moonshineMethod) {
+      this.finalisedPlaceholders = finalisedPlaceholders;
+      this.resolvingPlaceholders = resolvingPlaceholders;
+      this.methodPlaceholders = methodPlaceholders;
+      this.usedPlaceholderNames = usedPlaceholderNames;
+      this.moonshineMethod = moonshineMethod;
+    }
+
+    @Override
+    public void conclude(final String placeholderName, final F value) {
+      this.finalisedPlaceholders.conclude(placeholderName, value);
+    }
+
+    @Override
+    public void concludeNumber(final String placeholderName, final F number) {
+      this.finalisedPlaceholders.concludeNumber(placeholderName, number);
+    }
+
+    @Override
+    public void continueWith(final String placeholderName, final Object value, final Type type) {
+      if (this.failure != null || !isUsed(this.usedPlaceholderNames, placeholderName)) {
+        return;
+      }
+      if (StandardPlaceholderResolverStrategy.this.validateContinuances) {
+        ContinuanceValue.validateAssignable(value, type);
+      }
+      this.continueResolving(placeholderName, value, type);
+    }
+
+    @Override
+    public void continueWith(final String placeholderName, final ContinuanceValue<?> continuanceValue) {
+      if (this.failure != null || !isUsed(this.usedPlaceholderNames, placeholderName)) {
+        return;
+      }
+      this.continueResolving(placeholderName, continuanceValue.value(), continuanceValue.type());
+    }
+
+    private void continueResolving(final String placeholderName, final Object value, final Type type) {
+
+      final PendingPlaceholder resolving = this.resolving;
+      if (resolving.depth >= StandardPlaceholderResolverStrategy.this.maximumExpansionDepth) {
+        this.failure = new PlaceholderExpansionDepthException(this.moonshineMethod, placeholderName,
+            StandardPlaceholderResolverStrategy.this.maximumExpansionDepth);
+        return;
+      }
+      final ISinkPlaceholderResolver<?, ?, ?>[] resolverChain = this.methodPlaceholders.resolverChain(type);
+      if (resolving.expandsFrom(placeholderName, value, resolverChain)) {
+        this.failure = new CyclicPlaceholderException(this.moonshineMethod, placeholderName, value);
+        return;
+      }
+
+      this.resolvingPlaceholders.add(new PendingPlaceholder(placeholderName, value, resolverChain, resolving,
+          resolving.depth + 1));
+    }
+  }
+
+  /**
+   * A {@link ResolvingSink} for resolving asynchronously, where placeholders may be concluded by many threads at once.
+   */
+  private final class AsyncResolvingSink extends ResolvingSink {
+    /* package-private */ AsyncResolvingSink(final ResolvedPlaceholders<F> finalisedPlaceholders,
+        final Deque<PendingPlaceholder> resolvingPlaceholders, final MethodPlaceholders methodPlaceholders,
+        final @Nullable Set<String> usedPlaceholderNames, final MoonshineMethod<?> moonshineMethod) {
+      super(finalisedPlaceholders, resolvingPlaceholders, methodPlaceholders, usedPlaceholderNames, moonshineMethod);
+    }
+
+    @Override
+    public void conclude(final String placeholderName, final F value) {
+      synchronized (this.finalisedPlaceholders) {
+        super.conclude(placeholderName, value);
+      }
+    }
+
+    @Override
+    public void concludeNumber(final String placeholderName, final F number) {
+      synchronized (this.finalisedPlaceholders) {
+        super.concludeNumber(placeholderName, number);
+      }
+    }
+  }
+
+  /**
+   * The state of resolving the placeholders of a single invocation asynchronously.
+   */
+  private final class AsyncResolution {
+    private final R receiver;
+    private final Type owner;
+    private final Method method;
+    private final MethodPlaceholders methodPlaceholders;
+    private final @Nullable Set<String> usedPlaceholderNames;
+    private final MoonshineMethod<? extends R> moonshineMethod;
+    private final @Nullable Object[] parameters;
+
+    /**
+     * The finalised placeholders. Guarded by itself.
+     */
+    private final ResolvedPlaceholders<F> finalisedPlaceholders;
+
+    /**
+     * How many placeholders are yet to be resolved, plus one until every parameter has been started.
+     */
+    private final AtomicInteger outstanding = new AtomicInteger(1);
+
+    /* package-private */ final CompletableFuture<Map<String, ? extends F>> result = new CompletableFuture<>();
+
+    /* package-private */ AsyncResolution(final R receiver, final MethodPlaceholders methodPlaceholders,
+        final @Nullable Set<String> usedPlaceholderNames, final MoonshineMethod<? extends R> moonshineMethod,
+        final @Nullable Object[] parameters) {
+      this.receiver = receiver;
+      this.owner = moonshineMethod.owner().getType();
+      this.method = moonshineMethod.reflectMethod();
+      this.methodPlaceholders = methodPlaceholders;
+      this.usedPlaceholderNames = usedPlaceholderNames;
+      this.moonshineMethod = moonshineMethod;
+      this.parameters = parameters;
+      this.finalisedPlaceholders = new ResolvedPlaceholders<>(parameters.length);
+    }
+
+    /* package-private */ void start(final Collection<PendingPlaceholder> pendingPlaceholders) {
+      this.outstanding.addAndGet(pendingPlaceholders.size());
+      for (final PendingPlaceholder pending : pendingPlaceholders) {
+        this.resolve(pending, 0);
+      }
+      this.done();
+    }
+
+    /**
+     * Resolve a single placeholder with the first resolver of its chain, from the given index, that wants to resolve
+     * it.
+     *
+     * @param pending       the placeholder to resolve
+     * @param resolverIndex the index of the first resolver in the chain to try
+     */
+    private void resolve(final PendingPlaceholder pending, final int resolverIndex) {
+      try {
+        for (int idx = resolverIndex; idx < pending.resolverChain.length && !this.result.isDone(); ++idx) {
+          if (pending.resolverChain[idx] instanceof IAsyncPlaceholderResolver<?, ?, ?> resolver) {
             @SuppressWarnings("unchecked") // This should be equivalent.
-            final var placeholderResolver =
-                (IPlaceholderResolver<R, Object, ? extends F>) weighted.value();
-
-            final var resolverResult =
-                placeholderResolver.resolve(continuancePlaceholderName, value, receiver,
-                    moonshineMethod.owner().getType(),
-                    moonshineMethod.reflectMethod(), parameters);
-            if (resolverResult == null) {
+            final var placeholderResolver = (IAsyncPlaceholderResolver<R, Object, F>) resolver;
+            final var future = placeholderResolver.resolveAsync(pending.name, pending.value, this.receiver,
+                this.owner, this.method, this.parameters);
+            if (future == null) {
               // The resolver did not want to resolve this; pass it on.
               continue;
             }
 
-            resolvingPlaceholderIterator.remove();
-
-            resolverResult.forEach((resolvedName, resolvedValue) ->
-                resolvedValue.map(conclusionValue -> finalisedPlaceholders
-                        .put(resolvedName, conclusionValue.value()),
-                    continuanceValue -> resolvingPlaceholders.put(resolvedName, continuanceValue)));
+            final int nextIndex = idx + 1;
+            future.whenComplete((resolverResult, failure) -> {
+              if (failure != null) {
+                this.fail(failure);
+              } else if (resolverResult == null) {
+                // The resolver did not want to resolve this after all; pass it on.
+                this.resolve(pending, nextIndex);
+              } else {
+                this.finish(pending, sink -> ISinkPlaceholderResolver.sinkAll(resolverResult, sink));
+              }
+            });
+            return;
+          }
 
-            continue dancing;
+          @SuppressWarnings("unchecked") // This should be equivalent.
+          final var placeholderResolver = (ISinkPlaceholderResolver<R, Object, F>) pending.resolverChain[idx];
+          final ResolvingSink sink = this.sink(pending);
+          if (placeholderResolver.resolve(pending.name, pending.value, this.receiver, this.owner, this.method,
+              this.parameters, sink)) {
+            this.finish(sink);
+            return;
           }
+
+          // The resolver did not want to resolve this; pass it on.
+        }
+
+        if (!this.result.isDone()) {
+          throw new UnfinishedPlaceholderException(this.moonshineMethod, pending.name, pending.value);
+        }
+      } catch (final Throwable throwable) {
+        this.fail(throwable);
+      }
+    }
+
+    private ResolvingSink sink(final PendingPlaceholder pending) {
+      final ResolvingSink sink = new AsyncResolvingSink(this.finalisedPlaceholders, new ArrayDeque<>(4),
+          this.methodPlaceholders, this.usedPlaceholderNames, this.moonshineMethod);
+      sink.resolving = pending;
+      return sink;
+    }
+
+    private void finish(final PendingPlaceholder pending, final Consumer<ResolvingSink> results) {
+      try {
+        final ResolvingSink sink = this.sink(pending);
+        results.accept(sink);
+        this.finish(sink);
+      } catch (final Throwable throwable) {
+        this.fail(throwable);
+      }
+    }
+
+    /**
+     * Finish resolving a placeholder, starting every placeholder it expanded into.
+     *
+     * @param sink the sink the placeholder was resolved into
+     */
+    private void finish(final ResolvingSink sink) {
+      if (sink.failure != null) {
+        this.fail(sink.failure);
+        return;
+      }
+
+      this.start(sink.resolvingPlaceholders);
+    }
+
+    private void done() {
+      if (this.outstanding.decrementAndGet() == 0) {
+        this.result.complete(this.finalisedPlaceholders);
+      }
+    }
+
+    private void fail(final Throwable throwable) {
+      this.result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+          ? throwable.getCause()
+          : throwable);
+    }
+  }
+
+  /**
+   * The placeholders of a single scanned method, and the resolvers to try for each type of value seen for them.
+   */
+  private static final class MethodPlaceholders {
+    private final ISupertypeStrategy supertypeStrategy;
+    private final Map<Type, ? extends NavigableSet<? extends Weighted<? extends IPlaceholderResolver<?, ?, ?>>>>
+        weightedPlaceholderResolvers;
+    private final Map<Type, ISinkPlaceholderResolver<?, ?, ?>[]> resolverChains = new ConcurrentHashMap<>();
+    private final PlaceholderSlot[] slots;
+
+    /* package-private */ MethodPlaceholders(final ISupertypeStrategy supertypeStrategy,
+        final Map<Type, ? extends NavigableSet<? extends Weighted<? extends IPlaceholderResolver<?, ?, ?>>>>
+            weightedPlaceholderResolvers,
+        final MoonshineMethod<?> moonshineMethod) {
+      this.supertypeStrategy = supertypeStrategy;
+      this.weightedPlaceholderResolvers = weightedPlaceholderResolvers;
+
+      final Parameter[] methodParameters = moonshineMethod.reflectMethod().getParameters();
+      final List<Type> exactParameterTypes = moonshineMethod.exactParameterTypes();
+      final List<PlaceholderSlot> slots = new ArrayList<>(methodParameters.length);
+      for (int idx = 0; idx < methodParameters.length; ++idx) {
+        final Parameter parameter = methodParameters[idx];
+        final @Nullable Placeholder placeholder = parameter.getAnnotation(Placeholder.class);
+        if (placeholder == null) {
+          // Nothing to resolve.
+          continue;
+        }
+
+        final String placeholderName = placeholder.value().isEmpty()
+            ? parameter.getName()
+            : placeholder.value();
+        slots.add(new PlaceholderSlot(this, idx, placeholderName, exactParameterTypes.get(idx)));
+      }
+      this.slots = slots.toArray(new PlaceholderSlot[0]);
+    }
+
+    /**
+     * Get every resolver to try for a value of the given type, in order: each type of its hierarchy in turn, starting
+     * with the type itself, and the resolvers of each type in the order they are registered in.
+     *
+     * @param type the type of the value
+     * @return the resolvers to try
+     */
+    /* package-private */ ISinkPlaceholderResolver<?, ?, ?>[] resolverChain(final Type type) {
+      final ISinkPlaceholderResolver<?, ?, ?> @Nullable [] chain = this.resolverChains.get(type);
+      if (chain != null) {
+        return chain;
+      }
+
+      return this.resolverChains.computeIfAbsent(type, this::flattenResolverChain);
+    }
+
+    private ISinkPlaceholderResolver<?, ?, ?>[] flattenResolverChain(final Type type) {
+      final List<ISinkPlaceholderResolver<?, ?, ?>> chain = new ArrayList<>();
+      this.addResolvers(chain, type);
+      for (final Type supertype : this.supertypeStrategy.hierarchy(type)) {
+        this.addResolvers(chain, supertype);
+      }
+
+      return chain.toArray(new ISinkPlaceholderResolver<?, ?, ?>[0]);
+    }
+
+    private void addResolvers(final List<ISinkPlaceholderResolver<?, ?, ?>> chain, final Type type) {
+      final @Nullable NavigableSet<? extends Weighted<? extends IPlaceholderResolver<?, ?, ?>>> weightedResolvers =
+          this.weightedPlaceholderResolvers.get(type);
+      if (weightedResolvers != null) {
+        for (final var weighted : weightedResolvers) {
+          chain.add(ISinkPlaceholderResolver.sinking(weighted.value()));
         }
+      }
+    }
+  }
+
+  /**
+   * A parameter of a method which is a placeholder, along with the resolvers to try for each runtime class of its
+   * values.
+   * <p>
+   * If the declared type of the parameter is final, every value is of that exact type, and its resolvers are found up
+   * front instead. Primitive parameters are passed boxed, so their resolvers are those of the boxed type, e.g. an
+   * {@link net.kyori.moonshine.placeholder.IntPlaceholderResolver} registered for {@code Integer.class}.
+   * </p>
+   */
+  private static final class PlaceholderSlot {
+    private final int parameterIndex;
+    private final String placeholderName;
+    private final ISinkPlaceholderResolver<?, ?, ?> @Nullable [] finalResolverChain;
+    private final @Nullable ClassValue<ISinkPlaceholderResolver<?, ?, ?>[]> resolverChains;
 
-        throw new UnfinishedPlaceholderException(moonshineMethod, continuancePlaceholderName, value);
+    /* package-private */ PlaceholderSlot(final MethodPlaceholders methodPlaceholders, final int parameterIndex,
+        final String placeholderName, final Type exactType) {
+      this.parameterIndex = parameterIndex;
+      this.placeholderName = placeholderName;
+
+      final Class<?> erasedType = GenericTypeReflector.erase(exactType);
+      if (erasedType.isPrimitive()) {
+        this.finalResolverChain = methodPlaceholders.resolverChain(GenericTypeReflector.box(exactType));
+        this.resolverChains = null;
+      } else if (Modifier.isFinal(erasedType.getModifiers()) && !erasedType.isArray()) {
+        this.finalResolverChain = methodPlaceholders.resolverChain(exactType);
+        this.resolverChains = null;
+      } else {
+        this.finalResolverChain = null;
+        this.resolverChains = new ClassValue<>() {
+          @Override
+          protected ISinkPlaceholderResolver<?, ?, ?>[] computeValue(final Class<?> type) {
+            return methodPlaceholders.resolverChain(GenericTypeReflector.getExactSubType(exactType, type));
+          }
+        };
+      }
+    }
+
+    /**
+     * Get the resolvers to try for a value of this parameter.
+     *
+     * @param value the value of the parameter
+     * @return the resolvers to try
+     */
+    /* package-private */ ISinkPlaceholderResolver<?, ?, ?>[] resolverChain(final Object value) {
+      final ISinkPlaceholderResolver<?, ?, ?> @Nullable [] finalResolverChain = this.finalResolverChain;
+      if (finalResolverChain != null) {
+        return finalResolverChain;
       }
+
+      return this.resolverChains.get(value.getClass());
+    }
+  }
+
+  /**
+   * A placeholder yet to be resolved.
+   */
+  private static final class PendingPlaceholder {
+    private final String name;
+    private final Object value;
+    private final ISinkPlaceholderResolver<?, ?, ?>[] resolverChain;
+    private final @Nullable PendingPlaceholder expandedFrom;
+    private final int depth;
+
+    /**
+     * @param name          the name of the placeholder
+     * @param value         the value of the placeholder
+     * @param resolverChain the resolvers to try for the value, in order
+     * @param expandedFrom  the placeholder this was expanded from, or {@code null} if it is a parameter
+     * @param depth         how many times placeholders were expanded to reach this one
+     */
+    /* package-private */ PendingPlaceholder(final String name, final Object value,
+        final ISinkPlaceholderResolver<?, ?, ?>[] resolverChain, final @Nullable PendingPlaceholder expandedFrom,
+        final int depth) {
+      this.name = name;
+      this.value = value;
+      this.resolverChain = resolverChain;
+      this.expandedFrom = expandedFrom;
+      this.depth = depth;
+    }
+
+    /**
+     * Check whether expanding into the given placeholder would repeat this placeholder or one it was expanded from,
+     * such that it would be expanded forever.
+     *
+     * @param name          the name of the placeholder to expand into
+     * @param value         the value of the placeholder to expand into
+     * @param resolverChain the resolvers to try for the value; chains are shared by every value of the same type
+     * @return whether the expansion is cyclic
+     */
+    /* package-private */ boolean expandsFrom(final String name, final Object value,
+        final ISinkPlaceholderResolver<?, ?, ?>[] resolverChain) {
+      for (@Nullable PendingPlaceholder ancestor = this; ancestor != null; ancestor = ancestor.expandedFrom) {
+        if (ancestor.resolverChain == resolverChain
+            && ancestor.name.equals(name)
+            && ancestor.value.equals(value)) {
+          return true;
+        }
+      }
+
+      return false;
     }
   }
 }
@@ -18,7 +18,9 @@
 package net.kyori.moonshine.strategy.supertype;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
 
 /**
@@ -34,4 +36,19 @@ public interface ISupertypeStrategy {
    * @return the hierarchy type iterator
    */
   Iterator<Type> hierarchyIterator(final Type type);
+
+  /**
+   * Gets the hierarchy of a type with the current strategy, in the order {@link #hierarchyIterator(Type)} iterates it.
+   * <p>
+   * The returned array may be shared between calls, and must therefore not be modified.
+   * </p>
+   *
+   * @param type the type to get the hierarchy of
+   * @return the hierarchy types
+   */
+  default Type[] hierarchy(final Type type) {
+    final List<Type> hierarchy = new ArrayList<>();
+    this.hierarchyIterator(type).forEachRemaining(hierarchy::add);
+    return hierarchy.toArray(new Type[0]);
+  }
 }
@@ -19,13 +19,10 @@ package net.kyori.moonshine.strategy.supertype;
 
 import io.leangen.geantyref.GenericTypeReflector;
 import java.lang.reflect.Type;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Objects;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -62,11 +59,22 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 @ThreadSafe
 public final class StandardSupertypeThenInterfaceSupertypeStrategy implements ISupertypeStrategy {
+  private static final Type[] OBJECT_HIERARCHY = {Object.class};
+
   /**
-   * A simple caching map to avoid locks altogether with thread-safety at the cost of potentially having concurrently
-   * computing calls of the same hierarchy.
+   * The hierarchies of classes, which are dropped along with their class when it is unloaded.
+   * <p>
+   * The hierarchies of other types, such as parameterised types, are computed on every call: such types are usually
+   * created afresh rather than shared, and as such would rarely be found again. Callers resolving the same types
+   * repeatedly cache their own results, such as the placeholder resolvers found for a type.
+   * </p>
    */
-  private final ConcurrentMap<Type, LinkedHashSet<Type>> typeToHierarchyCache = new ConcurrentHashMap<>();
+  private final ClassValue<Type[]> classToHierarchyCache = new ClassValue<>() {
+    @Override
+    protected Type[] computeValue(final Class<?> type) {
+      return StandardSupertypeThenInterfaceSupertypeStrategy.this.computeHierarchy(type);
+    }
+  };
 
   /**
    * Whether this should return {@link Object}, assuming this is not an {@link Object} already.
@@ -79,23 +87,32 @@ public final class StandardSupertypeThenInterfaceSupertypeStrategy implements IS
 
   @Override
   public Iterator<Type> hierarchyIterator(final Type type) {
-    final Class<?> erasedBaseType = GenericTypeReflector.erase(type);
-    if (erasedBaseType == Object.class) {
-      final Set<Type> types = Collections.singleton(Object.class);
-      return types.iterator();
+    return Arrays.asList(this.hierarchy(type)).iterator();
+  }
+
+  @Override
+  public Type[] hierarchy(final Type type) {
+    if (type instanceof Class<?>) {
+      return this.classToHierarchyCache.get((Class<?>) type);
     }
 
-    return this.typeToHierarchyCache.computeIfAbsent(type, key -> {
-      final LinkedHashSet<Type> aggregatedSuperTypes = this.aggregateSuperTypes(type);
-      final LinkedHashSet<Type> aggregatedSuperInterfaces =
-          this.aggregateSuperInterfaces(Stream.concat(Stream.of(type), aggregatedSuperTypes.stream()), type);
-      final LinkedHashSet<Type> conjoined = new LinkedHashSet<>(
-          aggregatedSuperTypes.size() + aggregatedSuperInterfaces.size());
-      conjoined.addAll(aggregatedSuperTypes);
-      conjoined.addAll(aggregatedSuperInterfaces);
-
-      return conjoined;
-    }).iterator();
+    return this.computeHierarchy(type);
+  }
+
+  private Type[] computeHierarchy(final Type type) {
+    if (GenericTypeReflector.erase(type) == Object.class) {
+      return OBJECT_HIERARCHY;
+    }
+
+    final LinkedHashSet<Type> aggregatedSuperTypes = this.aggregateSuperTypes(type);
+    final LinkedHashSet<Type> aggregatedSuperInterfaces =
+        this.aggregateSuperInterfaces(Stream.concat(Stream.of(type), aggregatedSuperTypes.stream()), type);
+    final LinkedHashSet<Type> conjoined = new LinkedHashSet<>(
+        aggregatedSuperTypes.size() + aggregatedSuperInterfaces.size());
+    conjoined.addAll(aggregatedSuperTypes);
+    conjoined.addAll(aggregatedSuperInterfaces);
+
+    return conjoined.toArray(new Type[0]);
   }
 
   private LinkedHashSet<Type> aggregateSuperTypes(final Type baseType) {
@@ -0,0 +1,112 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import net.kyori.moonshine.exception.MissingMessageException;
+import org.junit.jupiter.api.Test;
+
+class CachingMessageSourceTest {
+  @Test
+  void messagesCachedPerReceiverKey() throws Exception {
+    final AtomicInteger sourced = new AtomicInteger();
+    final CachingMessageSource<Locale, String> source = new CachingMessageSource<>(
+        (receiver, messageKey) -> {
+          sourced.incrementAndGet();
+          if (messageKey.equals("missing")) {
+            throw new MissingMessageException(messageKey);
+          }
+          return messageKey + '_' + receiver;
+        },
+        Function.identity(), 64, true);
+
+    assertThat(source.messageOf(Locale.ENGLISH, "greeting")).isEqualTo("greeting_en");
+    assertThat(source.messageOf(Locale.ENGLISH, "greeting")).isEqualTo("greeting_en");
+    assertThat(source.messageOf(Locale.GERMAN, "greeting")).isEqualTo("greeting_de");
+    assertThatThrownBy(() -> source.messageOf(Locale.ENGLISH, "missing")).isInstanceOf(MissingMessageException.class);
+    assertThatThrownBy(() -> source.messageOf(Locale.ENGLISH, "missing")).isInstanceOf(MissingMessageException.class);
+    assertThat(sourced).hasValue(3);
+    assertThat(source.hits()).isEqualTo(2);
+    assertThat(source.misses()).isEqualTo(3);
+
+    source.invalidateReceiverKey(Locale.GERMAN);
+    source.messageOf(Locale.ENGLISH, "greeting");
+    assertThat(sourced).hasValue(3);
+    source.invalidate("greeting");
+    source.messageOf(Locale.ENGLISH, "greeting");
+    assertThat(sourced).hasValue(4);
+    source.invalidateAll();
+    assertThat(source.size()).isZero();
+  }
+
+  @Test
+  void boundedSize() throws Exception {
+    final CachingMessageSource<Object, String> source = new CachingMessageSource<>(
+        (receiver, messageKey) -> messageKey, receiver -> null, 4, false);
+
+    for (int idx = 0; idx < 64; ++idx) {
+      source.messageOf(new Object(), "key" + idx);
+    }
+    assertThat(source.size()).isLessThanOrEqualTo(4);
+  }
+
+  @Test
+  void invalidatingWhileSourcingWins() throws Exception {
+    final AtomicReference<String> translation = new AtomicReference<>("old");
+    final CountDownLatch sourcing = new CountDownLatch(1);
+    final CountDownLatch invalidated = new CountDownLatch(1);
+    final CachingMessageSource<Object, String> source = new CachingMessageSource<>(
+        (receiver, messageKey) -> {
+          final String message = translation.get();
+          if (receiver == "blocking") {
+            sourcing.countDown();
+            try {
+              invalidated.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          return message;
+        },
+        receiver -> null, 16, true);
+
+    final CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> {
+      try {
+        return source.messageOf("blocking", "greeting");
+      } catch (final MissingMessageException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertThat(sourcing.await(5, TimeUnit.SECONDS)).isTrue();
+    translation.set("new");
+    source.invalidate("greeting");
+    invalidated.countDown();
+
+    assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+    assertThat(source.messageOf("other", "greeting")).isEqualTo("new");
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Function;
+import net.kyori.moonshine.placeholder.ResolvedPlaceholders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledStringMessageRendererTest {
+  private static final Map<String, String> PLACEHOLDERS = Map.of("name", "Kyori", "count", "3", "b", "B");
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "No placeholders",
+      "Hello, {name}! You have {count} messages.",
+      "{name}{name}",
+      "{missing} {name}",
+      "{a{b}",
+      "Unterminated {name",
+  })
+  void rendersAsStringMessageRenderer(final String message) throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final StringMessageRenderer<Object, String, String, String> expected =
+        new StringMessageRenderer<>("{", "}", Function.identity(), Function.identity(), Function.identity());
+    final CompiledStringMessageRenderer<Object, String, String, String> renderer =
+        new CompiledStringMessageRenderer<>("{", "}", Function.identity(), Function.identity(), Function.identity());
+
+    assertThat(renderer.render(new Object(), message, PLACEHOLDERS, method, Object.class))
+        .isEqualTo(expected.render(new Object(), message, PLACEHOLDERS, method, Object.class));
+    assertThat(renderer.template(message)).isSameAs(renderer.template(message));
+  }
+
+  @Test
+  void numbersAreWrittenUnconverted() throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final CompiledStringMessageRenderer<Object, String, String, Object> renderer = new CompiledStringMessageRenderer<>(
+        "{", "}", Function.identity(), Function.identity(), value -> "<" + value + ">");
+    final ResolvedPlaceholders<Object> placeholders = new ResolvedPlaceholders<>(4);
+    placeholders.concludeNumber("int", Integer.MIN_VALUE);
+    placeholders.concludeNumber("long", Long.MAX_VALUE);
+    placeholders.concludeNumber("double", 0.1);
+    placeholders.conclude("text", 4);
+
+    assertThat(renderer.render(new Object(), "{int} {long} {double} {text}", placeholders, method, Object.class))
+        .isEqualTo("-2147483648 9223372036854775807 0.1 <4>");
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RenderBufferPoolTest {
+  @Test
+  void releasedBuffersAreReused() {
+    final RenderBufferPool<StringBuilder> pool = new RenderBufferPool<>(StringBuilder::new, StringBuilder::capacity,
+        64);
+
+    final StringBuilder buffer = pool.acquire();
+    assertThat(pool.acquire()).isNotSameAs(buffer);
+    pool.release(buffer);
+    assertThat(pool.acquire()).isSameAs(buffer);
+  }
+
+  @Test
+  void oversizedBuffersAreDropped() {
+    final RenderBufferPool<StringBuilder> pool = new RenderBufferPool<>(StringBuilder::new, StringBuilder::capacity,
+        64);
+
+    final StringBuilder buffer = pool.acquire();
+    buffer.ensureCapacity(128);
+    pool.release(buffer);
+    assertThat(pool.acquire()).isNotSameAs(buffer);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class StreamingStringMessageRendererTest {
+  @Test
+  void streamedIntoSenderOutput() throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final StreamingStringMessageRenderer<StringBuilder, String, String> renderer =
+        new StreamingStringMessageRenderer<>("{", "}", Function.identity(), Function.identity());
+    final IStreamingMessageSender<StringBuilder> sender = new IStreamingMessageSender<>() {
+      @Override
+      public Appendable output(final StringBuilder receiver) {
+        return receiver;
+      }
+
+      @Override
+      public void finish(final StringBuilder receiver, final Appendable output) {
+        receiver.append('\n');
+      }
+    };
+
+    final StringBuilder receiver = new StringBuilder();
+    final IStreamedMessage message = renderer.render(receiver, "Hello, {name}! {missing}", Map.of("name", "Kyori"),
+        method, Object.class);
+    sender.send(receiver, message);
+    sender.send(receiver, message);
+
+    assertThat(receiver).hasToString("Hello, Kyori! {missing}\nHello, Kyori! {missing}\n");
+  }
+
+  @Test
+  void streamedIntoByteBuffer() throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final StreamingStringMessageRenderer<Object, String, String> renderer =
+        new StreamingStringMessageRenderer<>("{", "}", Function.identity(), Function.identity());
+    final IStreamedMessage message = renderer.render(new Object(), "Gr\u00fc\u00dfe, {name}!",
+        Map.of("name", "K\u00f6ri"), method, Object.class);
+
+    final ByteBuffer buffer = ByteBuffer.allocate(64);
+    message.writeUtf8To(buffer);
+    assertThat(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8))
+        .isEqualTo("Gr\u00fc\u00dfe, K\u00f6ri!");
+
+    final ByteBuffer small = ByteBuffer.allocate(4);
+    assertThatThrownBy(() -> message.writeUtf8To(small)).isInstanceOf(BufferOverflowException.class);
+    assertThat(small.position()).isZero();
+  }
+}
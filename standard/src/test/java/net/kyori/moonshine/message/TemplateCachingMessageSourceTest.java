@@ -0,0 +1,111 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import net.kyori.moonshine.exception.MissingMessageException;
+import org.junit.jupiter.api.Test;
+
+class TemplateCachingMessageSourceTest {
+  @Test
+  void templatesCachedPerGroup() throws Exception {
+    final AtomicInteger sourced = new AtomicInteger();
+    final TemplateCachingMessageSource<Locale> source = new TemplateCachingMessageSource<>(
+        (receiver, messageKey) -> {
+          sourced.incrementAndGet();
+          return receiver == Locale.GERMAN ? "Hallo, {name}!" : "Hello, {name}!";
+        },
+        Function.identity(), "{", "}", 16);
+
+    final MessageTemplate english = source.messageOf(Locale.ENGLISH, "greeting");
+    assertThat(source.messageOf(Locale.ENGLISH, "greeting")).isSameAs(english);
+    assertThat(source.messageOf(Locale.GERMAN, "greeting")).isNotSameAs(english);
+    assertThat(sourced).hasValue(2);
+
+    source.invalidateGroup(Locale.GERMAN);
+    assertThat(source.messageOf(Locale.ENGLISH, "greeting")).isSameAs(english);
+    source.invalidate("greeting");
+    assertThat(source.messageOf(Locale.ENGLISH, "greeting")).isNotSameAs(english);
+    assertThat(sourced).hasValue(3);
+
+    final Method method = Object.class.getMethod("toString");
+    final CompiledStringMessageRenderer<Locale, MessageTemplate, String, String> renderer =
+        new CompiledStringMessageRenderer<>("{", "}", MessageTemplate::toString, Function.identity(),
+            Function.identity());
+    assertThat(renderer.render(Locale.GERMAN, source.messageOf(Locale.GERMAN, "greeting"), Map.of("name", "Kyori"),
+        method, Object.class)).isEqualTo("Hallo, Kyori!");
+    assertThat(english).hasToString("Hello, {name}!");
+  }
+
+  @Test
+  void boundedSize() throws Exception {
+    final TemplateCachingMessageSource<Object> source = new TemplateCachingMessageSource<>(
+        (receiver, messageKey) -> messageKey, receiver -> null, "{", "}", 2);
+
+    for (int idx = 0; idx < 8; ++idx) {
+      source.messageOf(new Object(), "key" + idx);
+    }
+    assertThat(source.size()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void invalidatingWhileSourcingWins() throws Exception {
+    final AtomicReference<String> translation = new AtomicReference<>("Hello, {name}!");
+    final CountDownLatch sourcing = new CountDownLatch(1);
+    final CountDownLatch invalidated = new CountDownLatch(1);
+    final TemplateCachingMessageSource<Object> source = new TemplateCachingMessageSource<>(
+        (receiver, messageKey) -> {
+          final String message = translation.get();
+          if (receiver == "blocking") {
+            sourcing.countDown();
+            try {
+              invalidated.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          return message;
+        },
+        receiver -> null, "{", "}", 16);
+
+    final CompletableFuture<MessageTemplate> stale = CompletableFuture.supplyAsync(() -> {
+      try {
+        return source.messageOf("blocking", "greeting");
+      } catch (final MissingMessageException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertThat(sourcing.await(5, TimeUnit.SECONDS)).isTrue();
+    translation.set("Hi, {name}!");
+    source.invalidate("greeting");
+    invalidated.countDown();
+
+    assertThat(stale.get(5, TimeUnit.SECONDS)).hasToString("Hello, {name}!");
+    assertThat(source.messageOf("other", "greeting")).hasToString("Hi, {name}!");
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import net.kyori.moonshine.placeholder.ResolvedPlaceholders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Utf8StringMessageRendererTest {
+  private static final Map<String, String> PLACEHOLDERS = Map.of(
+      "ascii", "Kyori",
+      "multibyte", "héllo 日本 𝄞",
+      "unpaired", "\ud800x"
+  );
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "No placeholders",
+      "Hello, {ascii}!",
+      "{multibyte} and {unpaired}",
+      "日{missing}本 {ascii}",
+  })
+  void rendersAsEncodedString(final String message) throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final CompiledStringMessageRenderer<Object, String, String, String> expected =
+        new CompiledStringMessageRenderer<>("{", "}", Function.identity(), Function.identity(), Function.identity());
+    final Utf8StringMessageRenderer<Object, String, String> renderer =
+        new Utf8StringMessageRenderer<>("{", "}", Function.identity(), Function.identity());
+
+    assertThat(renderer.render(new Object(), message, PLACEHOLDERS, method, Object.class))
+        .isEqualTo(expected.render(new Object(), message, PLACEHOLDERS, method, Object.class)
+            .getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void numbersAreEncodedUnconverted() throws Exception {
+    final Method method = Object.class.getMethod("toString");
+    final Utf8StringMessageRenderer<Object, String, Object> renderer =
+        new Utf8StringMessageRenderer<>("{", "}", Function.identity(), value -> "<" + value + ">");
+    final ResolvedPlaceholders<Object> placeholders = new ResolvedPlaceholders<>(3);
+    placeholders.concludeNumber("int", -7);
+    placeholders.concludeNumber("double", 1.0E-10);
+    placeholders.conclude("text", 4);
+
+    assertThat(renderer.render(new Object(), "日 {int} {double} {text}", placeholders, method, Object.class))
+        .isEqualTo("日 -7 1.0E-10 <4>".getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * moonshine - A localisation library for Java.
+ * Copyright (C) Mariell Hoversholm
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.kyori.moonshine.placeholder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.moonshine.util.Either;
+import org.junit.jupiter.api.Test;
+
+class MemoizingPlaceholderResolverTest {
+  private static final Object[] PARAMETERS = new Object[0];
+
+  @Test
+  void memoizesByNameValueAndReceiverKey() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final AtomicLong clock = new AtomicLong();
+    final MemoizingPlaceholderResolver<String, Integer, String> resolver = new MemoizingPlaceholderResolver<>(
+        (placeholderName, value, receiver, owner, method, parameters) -> {
+          invocations.incrementAndGet();
+          return Map.of(placeholderName, Either.left(ConclusionValue.conclusionValue(receiver + value)));
+        },
+        receiver -> receiver, 1, Duration.ofSeconds(1), clock::get);
+    final Method method = Object.class.getMethod("toString");
+
+    resolver.resolve("a", 1, "en", Object.class, method, PARAMETERS);
+    resolver.resolve("a", 1, "en", Object.class, method, PARAMETERS);
+    assertThat(invocations).hasValue(1);
+    assertThat(resolver.hits()).isEqualTo(1);
+    assertThat(resolver.misses()).isEqualTo(1);
+
+    resolver.resolve("a", 1, "de", Object.class, method, PARAMETERS);
+    assertThat(invocations).hasValue(2);
+    assertThat(resolver.size()).isEqualTo(1);
+
+    // ("a", 1, "en") was evicted as the least recently used.
+    resolver.resolve("a", 1, "en", Object.class, method, PARAMETERS);
+    assertThat(invocations).hasValue(3);
+
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    resolver.resolve("a", 1, "en", Object.class, method, PARAMETERS);
+    assertThat(invocations).hasValue(4);
+    assertThat(resolver.hits()).isEqualTo(1);
+    assertThat(resolver.misses()).isEqualTo(4);
+  }
+}
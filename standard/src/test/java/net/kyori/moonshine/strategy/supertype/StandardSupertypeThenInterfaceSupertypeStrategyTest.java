@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.leangen.geantyref.TypeToken;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -81,6 +82,20 @@ import org.junit.jupiter.params.provider.ValueSource;
     assertThat(supertypeIterator.hasNext()).isFalse();
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void hierarchyMatchesIterator(final boolean returnObject) {
+    final ISupertypeStrategy strategy = new StandardSupertypeThenInterfaceSupertypeStrategy(
+        returnObject);
+    final Type type = new TypeToken<SimpleIdealCaseSubSubtype<List<Integer>>>() {
+    }.getType();
+    final List<Type> iterated = new ArrayList<>();
+    strategy.hierarchyIterator(type).forEachRemaining(iterated::add);
+
+    assertThat(strategy.hierarchy(type)).containsExactlyElementsOf(iterated);
+    assertThat(strategy.hierarchy(SimpleSubtypeB.class)).isSameAs(strategy.hierarchy(SimpleSubtypeB.class));
+  }
+
   /* package-private */ interface SimpleIdealCaseSuperTypeInterfaceA extends
       SimpleIdealCaseSuperTypeInterfaceAA,
       SimpleIdealCaseSuperTypeInterfaceAB, SimpleIdealCaseSuperTypeInterfaceShared {